@@ -0,0 +1,67 @@
+package com.ritik.eventbackend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ritik.eventbackend.payload.PublishedEventDetailsJson;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PUBLISHED_EVENT_PAGES = "publishedEventPages";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${tickets.events.cache.pages-size:1000}") long pagesSize,
+                                     @Value("${tickets.events.cache.pages-ttl:PT30S}") Duration pagesTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered here exist, a typo in a cache name fails instead of creating an unbounded cache
+        cacheManager.setCacheNames(List.of());
+        // Writes evict through PublishedEventChangedEvent, the TTLs only bound how stale another instance can be
+        cacheManager.registerCustomCache(PUBLISHED_EVENT_PAGES, Caffeine.newBuilder()
+                .maximumSize(pagesSize)
+                .expireAfterWrite(pagesTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    // Holds the hottest event details as response bytes, entries are checked against the event's updatedAt on read
+    @Bean
+    public Cache<UUID, PublishedEventDetailsJson> publishedEventDetailsJsonCache(
+            @Value("${tickets.events.cache.details-json-size:32MB}") DataSize maximumSize,
+            MeterRegistry meterRegistry) {
+        Cache<UUID, PublishedEventDetailsJson> cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((UUID eventId, PublishedEventDetailsJson details) -> details.body().length)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "publishedEventDetailsJson");
+    }
+
+    // Ticket type ids per event for live availability, entries of events nobody looks at any more expire
+    @Bean
+    public Cache<UUID, List<UUID>> eventTicketTypeIdsCache(
+            @Value("${tickets.events.cache.ticket-types-size:100000}") long maximumSize,
+            @Value("${tickets.events.cache.ticket-types-idle:PT1H}") Duration idle,
+            MeterRegistry meterRegistry) {
+        Cache<UUID, List<UUID>> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idle)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventTicketTypeIds");
+    }
+}
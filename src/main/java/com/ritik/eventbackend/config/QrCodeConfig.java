@@ -1,10 +1,19 @@
 package com.ritik.eventbackend.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.zxing.qrcode.QRCodeWriter;
+import com.ritik.eventbackend.payload.QrCodeVariant;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
+@EnableConfigurationProperties(QrSigningProperties.class)
 public class QrCodeConfig {
 
     @Bean
@@ -12,4 +21,15 @@ public class QrCodeConfig {
         return new QRCodeWriter();
     }
 
+    @Bean
+    public Cache<QrCodeVariant, byte[]> qrCodeImageCache(@Value("${tickets.qr.image-cache-size:64MB}") DataSize maximumSize,
+                                                MeterRegistry meterRegistry) {
+        Cache<QrCodeVariant, byte[]> cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((QrCodeVariant key, byte[] image) -> image.length)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "qrCodeImages");
+    }
+
 }
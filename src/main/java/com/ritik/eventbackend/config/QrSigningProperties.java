@@ -0,0 +1,26 @@
+package com.ritik.eventbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Ed25519 keys for signed QR payloads, base64 encoded as PKCS#8 (private) and X.509 (public). New
+ * payloads are signed with the private key of the active key id, every listed public key is
+ * accepted when verifying. The private key is a secret and comes from the environment or a secret
+ * store, never from application.properties. To rotate, publish the new public key, switch the
+ * active key id and private key, and drop the old public key once no payload needs it.
+ *
+ * @param verifiedCacheSize how many verified payloads are remembered so repeat scans skip the
+ *                          signature check, 0 disables the cache
+ */
+@ConfigurationProperties(prefix = "tickets.qr.signing")
+public record QrSigningProperties(String activeKeyId,
+                                  String privateKey,
+                                  Map<String, String> publicKeys,
+                                  Duration gracePeriod,
+                                  Duration defaultValidity,
+                                  @DefaultValue("20000") int verifiedCacheSize) {
+}
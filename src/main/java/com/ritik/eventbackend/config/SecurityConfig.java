@@ -23,6 +23,9 @@ public class SecurityConfig {
                         authorize
                                 .requestMatchers(HttpMethod.GET, "/api/v1/published-events/**").permitAll()
                                 .requestMatchers("/api/v1/events").hasRole("ORGANIZER")
+                                .requestMatchers("/api/v1/ticket-validations/keys").hasAnyRole("STAFF", "ORGANIZER")
+                                .requestMatchers("/api/v1/events/*/scanner-manifest").hasAnyRole("STAFF", "ORGANIZER")
+                                .requestMatchers("/api/v1/events/*/check-ins/**").hasAnyRole("STAFF", "ORGANIZER")
                                 // Catch all rule
                                 .anyRequest().authenticated())
                 .csrf(AbstractHttpConfigurer::disable)
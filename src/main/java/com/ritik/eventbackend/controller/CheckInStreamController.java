@@ -0,0 +1,40 @@
+package com.ritik.eventbackend.controller;
+
+import static com.ritik.eventbackend.util.JwtUtil.parseUserId;
+
+import com.ritik.eventbackend.services.EventService;
+import com.ritik.eventbackend.validation.CheckInBroadcaster;
+import com.ritik.eventbackend.validation.CheckInStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/v1/events/{eventId}/check-ins")
+@RequiredArgsConstructor
+public class CheckInStreamController {
+
+  private final CheckInBroadcaster checkInBroadcaster;
+  private final EventService eventService;
+
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamCheckIns(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID eventId) {
+    eventService.checkEventAccessForStaff(parseUserId(jwt), eventId);
+    return checkInBroadcaster.subscribe(eventId);
+  }
+
+  @GetMapping(path = "/stats")
+  public ResponseEntity<CheckInStats> getCheckInStats(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID eventId) {
+    eventService.checkEventAccessForStaff(parseUserId(jwt), eventId);
+    return ResponseEntity.ok(checkInBroadcaster.stats(eventId));
+  }
+}
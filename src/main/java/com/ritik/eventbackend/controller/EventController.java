@@ -3,37 +3,42 @@ package com.ritik.eventbackend.controller;
 import static com.ritik.eventbackend.util.JwtUtil.parseUserId;
 
 import com.ritik.eventbackend.entities.Event;
+import com.ritik.eventbackend.mappers.EventMapper;
+import com.ritik.eventbackend.payload.PageCursor;
 import com.ritik.eventbackend.payload.CreateEventRequest;
 import com.ritik.eventbackend.payload.UpdateEventRequest;
 import com.ritik.eventbackend.payload.dtos.*;
 import com.ritik.eventbackend.services.EventService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping(path = "/api/v1/events")
 @RequiredArgsConstructor
+@Validated
 public class EventController {
 
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
     private final EventService eventService;
 
     @PostMapping
     public ResponseEntity<CreateEventResponseDto> createEvent(@AuthenticationPrincipal Jwt jwt,
                                                               @RequestBody CreateEventRequestDto createEventRequestDto) {
-        CreateEventRequest createEventRequest = modelMapper.map(createEventRequestDto, CreateEventRequest.class);
+        CreateEventRequest createEventRequest = eventMapper.toCreateEventRequest(createEventRequestDto);
         UUID userId = parseUserId(jwt);
 
         Event createdEvent = eventService.createEvent(userId, createEventRequest);
-        CreateEventResponseDto responseDto = modelMapper.map(createdEvent, CreateEventResponseDto.class);
+        CreateEventResponseDto responseDto = eventMapper.toCreateEventResponseDto(createdEvent);
         return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
     }
 
@@ -41,11 +46,11 @@ public class EventController {
     public ResponseEntity<UpdateEventResponseDto> updateEvent(@AuthenticationPrincipal Jwt jwt,
                                                               @PathVariable UUID eventId,
                                                               @RequestBody UpdateEventRequestDto updateEventRequestDto) {
-        UpdateEventRequest updateEventRequest = modelMapper.map(updateEventRequestDto, UpdateEventRequest.class);
+        UpdateEventRequest updateEventRequest = eventMapper.toUpdateEventRequest(updateEventRequestDto);
         UUID userId = parseUserId(jwt);
 
         Event updatedEvent = eventService.updateEventForOrganizer(userId, eventId, updateEventRequest);
-        UpdateEventResponseDto responseDto = modelMapper.map(updatedEvent, UpdateEventResponseDto.class);
+        UpdateEventResponseDto responseDto = eventMapper.toUpdateEventResponseDto(updatedEvent);
         return new ResponseEntity<>(responseDto, HttpStatus.OK);
     }
 
@@ -54,16 +59,26 @@ public class EventController {
                                                                  Pageable pageable) {
         UUID userId = parseUserId(jwt);
         Page<Event> events = eventService.listEventsForOrganizer(userId, pageable);
-        Page<ListEventResponseDto> dtoPage = events.map(e -> modelMapper.map(e, ListEventResponseDto.class));
+        Page<ListEventResponseDto> dtoPage = events.map(eventMapper::toListEventResponseDto);
         return new ResponseEntity<>(dtoPage, HttpStatus.OK);
     }
 
+    @GetMapping(path = "/scroll")
+    public ResponseEntity<CursorPageResponseDto<ListEventResponseDto>> scrollEvents(@AuthenticationPrincipal Jwt jwt,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        UUID userId = parseUserId(jwt);
+        return ResponseEntity.ok(PageCursor.page(
+                eventService.scrollEventsForOrganizer(userId, PageCursor.positionOf(cursor), size),
+                eventMapper::toListEventResponseDto));
+    }
+
     @GetMapping(path = "/{eventId}")
     public ResponseEntity<GetEventDetailsResponseDto> getEvent(@AuthenticationPrincipal Jwt jwt,
                                                                @PathVariable UUID eventId) {
         UUID userId = parseUserId(jwt);
         return eventService.getEventForOrganizer(userId, eventId)
-                .map(e -> modelMapper.map(e, GetEventDetailsResponseDto.class))
+                .map(eventMapper::toGetEventDetailsResponseDto)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -1,43 +1,72 @@
 package com.ritik.eventbackend.controller;
 
-import com.ritik.eventbackend.entities.Event;
-import com.ritik.eventbackend.payload.dtos.GetPublishedEventDetailsResponseDto;
+import com.ritik.eventbackend.payload.dtos.CursorPageResponseDto;
 import com.ritik.eventbackend.payload.dtos.ListPublishedEventResponseDto;
-import com.ritik.eventbackend.services.EventService;
+import com.ritik.eventbackend.payload.dtos.PublishedEventSuggestionDto;
+import com.ritik.eventbackend.payload.dtos.TicketTypeAvailabilityDto;
+import com.ritik.eventbackend.services.PublishedEventService;
+import com.ritik.eventbackend.services.TicketAvailabilityService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping(path = "/api/v1/published-events")
 @RequiredArgsConstructor
+@Validated
 public class PublishedEventController {
-    private final EventService eventService;
-    private final ModelMapper modelMapper;
+    private final PublishedEventService publishedEventService;
+    private final TicketAvailabilityService ticketAvailabilityService;
 
     @GetMapping
     public ResponseEntity<Page<ListPublishedEventResponseDto>> listPublishedEvents(@RequestParam(required = false) String q,
                                                                                    Pageable pageable) {
-        Page<Event> events;
+        Page<ListPublishedEventResponseDto> events;
         if (q != null && !q.trim().isEmpty()) {
-            events = eventService.searchPublishedEvents(q, pageable);
+            events = publishedEventService.searchPublishedEvents(q, pageable);
         } else {
-            events = eventService.listPublishedEvents(pageable);
+            events = publishedEventService.listPublishedEvents(pageable);
         }
+        return ResponseEntity.ok(events.map(ticketAvailabilityService::withAvailability));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<ListPublishedEventResponseDto>> scrollPublishedEvents(@RequestParam(required = false) String cursor,
+                                                                                                     @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        CursorPageResponseDto<ListPublishedEventResponseDto> events = publishedEventService.scrollPublishedEvents(cursor, size);
+        events.setContent(events.getContent().stream().map(ticketAvailabilityService::withAvailability).toList());
+        return ResponseEntity.ok(events);
+    }
 
-        return ResponseEntity.ok(events.map(event -> modelMapper.map(event, ListPublishedEventResponseDto.class)));
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<PublishedEventSuggestionDto>> suggestPublishedEvents(@RequestParam String q,
+                                                                                    @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return ResponseEntity.ok(publishedEventService.suggestPublishedEvents(q, limit));
     }
 
     @GetMapping("/{eventId}")
-    public ResponseEntity<GetPublishedEventDetailsResponseDto> getPublishedEventDetails(@PathVariable UUID eventId) {
-        return eventService.getPublishedEvent(eventId)
-                .map(e -> modelMapper.map(e, GetPublishedEventDetailsResponseDto.class))
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getPublishedEventDetails(@PathVariable UUID eventId) {
+        // Written as is, the body is a GetPublishedEventDetailsResponseDto serialized when it was cached
+        return publishedEventService.getPublishedEventDetailsJson(eventId)
+                .map(body -> ticketAvailabilityService.withAvailability(eventId, body))
+                .map(body -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @GetMapping("/{eventId}/availability")
+    public ResponseEntity<List<TicketTypeAvailabilityDto>> getPublishedEventAvailability(@PathVariable UUID eventId) {
+        if (!publishedEventService.isPublished(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ticketAvailabilityService.getEventAvailability(eventId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.ritik.eventbackend.controller;
+
+import static com.ritik.eventbackend.util.JwtUtil.parseUserId;
+
+import com.ritik.eventbackend.services.EventService;
+import com.ritik.eventbackend.services.ScannerManifestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/v1/events/{eventId}/scanner-manifest")
+@RequiredArgsConstructor
+public class ScannerManifestController {
+
+  private final ScannerManifestService scannerManifestService;
+  private final EventService eventService;
+
+  @GetMapping
+  public ResponseEntity<StreamingResponseBody> getScannerManifest(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID eventId,
+      @RequestParam(required = false) Long since
+  ){
+    // Checked before the body streams, where an error could no longer change the response status
+    eventService.checkEventAccessForStaff(parseUserId(jwt), eventId);
+    StreamingResponseBody body = outputStream -> scannerManifestService.writeManifest(eventId, since, outputStream);
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .body(body);
+  }
+}
@@ -1,39 +1,63 @@
 package com.ritik.eventbackend.controller;
 
 import java.time.Duration;
+import java.util.Objects;
 import java.util.UUID;
 
+import com.ritik.eventbackend.entities.enums.QrCodeFormatEnum;
+import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+import com.ritik.eventbackend.mappers.TicketMapper;
+import com.ritik.eventbackend.payload.PageCursor;
+import com.ritik.eventbackend.payload.QrCodeSummary;
+import com.ritik.eventbackend.payload.dtos.CursorPageResponseDto;
 import com.ritik.eventbackend.payload.dtos.GetTicketResponseDto;
 import com.ritik.eventbackend.payload.dtos.ListTicketResponseDto;
 import com.ritik.eventbackend.services.QrCodeService;
 import com.ritik.eventbackend.services.TicketService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import static com.ritik.eventbackend.util.JwtUtil.parseUserId;
 
 @RestController
 @RequestMapping(path = "/api/v1/tickets")
 @RequiredArgsConstructor
+@Validated
 public class TicketController {
 
+    private static final MediaType SVG = MediaType.parseMediaType("image/svg+xml");
+    // Payloads are reissued when a signing key is retired, so clients revalidate daily instead of caching forever
+    private static final Duration QR_CODE_MAX_AGE = Duration.ofDays(1);
+
     private final TicketService ticketService;
     private final QrCodeService qrCodeService;
-    private final ModelMapper modelMapper;
+    private final TicketMapper ticketMapper;
 
     @GetMapping
     public Page<ListTicketResponseDto> listTickets(@AuthenticationPrincipal Jwt jwt, Pageable pageable) {
         return ticketService.listTicketsForUser(parseUserId(jwt), pageable)
-                .map(ticket -> modelMapper.map(ticket, ListTicketResponseDto.class));
+                .map(ticketMapper::toListTicketResponseDto);
+    }
+
+    @GetMapping("/scroll")
+    public CursorPageResponseDto<ListTicketResponseDto> scrollTickets(@AuthenticationPrincipal Jwt jwt,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return PageCursor.page(ticketService.scrollTicketsForUser(parseUserId(jwt), PageCursor.positionOf(cursor), size),
+                ticketMapper::toListTicketResponseDto);
     }
 
     @GetMapping("/{ticketId}")
@@ -41,19 +65,38 @@ public class TicketController {
                                                           @PathVariable("ticketId") UUID ticketId) {
         return ticketService
                 .getTicketForUser(parseUserId(jwt), ticketId)
-                .map(ticket -> modelMapper.map(ticket, GetTicketResponseDto.class))
+                .map(ticketMapper::toGetTicketResponseDto)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{ticketId}/qr-codes")
     public ResponseEntity<byte[]> getTicketQrCode(@AuthenticationPrincipal Jwt jwt,
-                                                  @PathVariable UUID ticketId) {
-        byte[] qrCodeImage = qrCodeService.getQrCodeImageForUserAndTicket(parseUserId(jwt), ticketId);
+                                                  @PathVariable UUID ticketId,
+                                                  @RequestParam(defaultValue = "PNG") QrCodeFormatEnum format,
+                                                  @RequestParam(defaultValue = "300") @Min(64) @Max(2048) int size,
+                                                  WebRequest webRequest) {
+        QrCodeSummary qrCode = qrCodeService.getQrCodeForUserAndTicket(parseUserId(jwt), ticketId);
+
+        // The image is a pure function of the encoded payload and the variant, so the tag never needs the bytes
+        String eTag = "\"%s-%s-%08x-%s-%d\"".formatted(qrCode.id(), qrCode.status(),
+                Objects.hashCode(qrCode.payload()), format, size);
+        CacheControl cacheControl = QrCodeStatusEnum.ACTIVE.equals(qrCode.status())
+                ? CacheControl.maxAge(QR_CODE_MAX_AGE).cachePrivate()
+                : CacheControl.noCache().cachePrivate();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        // The PostgreSQL driver materializes a bytea value before returning it, so a stream over the column
+        // would only wrap this array. The byte[] converter writes the array itself, without another copy.
+        byte[] qrCodeImage = qrCodeService.getQrCodeImage(qrCode.id(), format, size);
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.IMAGE_PNG);
+        headers.setContentType(QrCodeFormatEnum.SVG.equals(format) ? SVG : MediaType.IMAGE_PNG);
         headers.setContentLength(qrCodeImage.length);
+        headers.setETag(eTag);
+        headers.setCacheControl(cacheControl);
 
         return new ResponseEntity<>(qrCodeImage, headers, HttpStatus.OK);
     }
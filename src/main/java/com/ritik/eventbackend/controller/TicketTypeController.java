@@ -1,8 +1,14 @@
 package com.ritik.eventbackend.controller;
 
+import java.util.List;
 import java.util.UUID;
 
+import com.ritik.eventbackend.entities.Ticket;
+import com.ritik.eventbackend.payload.dtos.CheckoutRequestDto;
+import com.ritik.eventbackend.payload.dtos.PurchaseTicketsRequestDto;
+import com.ritik.eventbackend.payload.dtos.PurchaseTicketsResponseDto;
 import com.ritik.eventbackend.services.TicketTypeService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +16,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -26,9 +33,31 @@ public class TicketTypeController {
   public ResponseEntity<Void> purchaseTicket(
           @AuthenticationPrincipal Jwt jwt,
           @PathVariable UUID ticketTypeId,
-          @PathVariable String eventId) {
-    ticketTypeService.purchaseTicket(parseUserId(jwt), ticketTypeId);
+          @PathVariable UUID eventId) {
+    ticketTypeService.purchaseTicket(parseUserId(jwt), eventId, ticketTypeId);
     return new ResponseEntity<>(HttpStatus.NO_CONTENT);
   }
 
-}
\ No newline at end of file
+  @PostMapping(path = "/{ticketTypeId}/tickets/bulk")
+  public ResponseEntity<PurchaseTicketsResponseDto> purchaseTickets(
+          @AuthenticationPrincipal Jwt jwt,
+          @PathVariable UUID ticketTypeId,
+          @PathVariable UUID eventId,
+          @Valid @RequestBody PurchaseTicketsRequestDto purchaseTicketsRequestDto) {
+    List<Ticket> tickets = ticketTypeService.purchaseTickets(
+            parseUserId(jwt), eventId, ticketTypeId, purchaseTicketsRequestDto.getQuantity());
+    List<UUID> ticketIds = tickets.stream().map(Ticket::getId).toList();
+    return new ResponseEntity<>(new PurchaseTicketsResponseDto(ticketIds), HttpStatus.CREATED);
+  }
+
+  @PostMapping(path = "/checkout")
+  public ResponseEntity<PurchaseTicketsResponseDto> checkout(
+          @AuthenticationPrincipal Jwt jwt,
+          @PathVariable UUID eventId,
+          @Valid @RequestBody CheckoutRequestDto checkoutRequestDto) {
+    List<Ticket> tickets = ticketTypeService.checkout(parseUserId(jwt), eventId, checkoutRequestDto.quantitiesByTicketType());
+    List<UUID> ticketIds = tickets.stream().map(Ticket::getId).toList();
+    return new ResponseEntity<>(new PurchaseTicketsResponseDto(ticketIds), HttpStatus.CREATED);
+  }
+
+}
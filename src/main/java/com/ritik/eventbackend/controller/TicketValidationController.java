@@ -1,25 +1,37 @@
 package com.ritik.eventbackend.controller;
 
+import com.ritik.eventbackend.config.QrSigningProperties;
 import com.ritik.eventbackend.entities.TicketValidation;
 import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
+import com.ritik.eventbackend.mappers.TicketMapper;
+import com.ritik.eventbackend.payload.dtos.BatchTicketValidationRequestDto;
+import com.ritik.eventbackend.payload.dtos.BatchTicketValidationResponseDto;
+import com.ritik.eventbackend.payload.dtos.BatchTicketValidationResultDto;
+import com.ritik.eventbackend.payload.dtos.QrSigningKeyDto;
+import com.ritik.eventbackend.payload.dtos.QrSigningKeysResponseDto;
 import com.ritik.eventbackend.payload.dtos.TicketValidationRequestDto;
 import com.ritik.eventbackend.payload.dtos.TicketValidationResponseDto;
 import com.ritik.eventbackend.services.TicketValidationService;
+import com.ritik.eventbackend.validation.ScannedTicket;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/api/v1/ticket-validations")
 @RequiredArgsConstructor
 public class TicketValidationController {
 
   private final TicketValidationService ticketValidationService;
-  private final ModelMapper modelMapper;
+  private final TicketMapper ticketMapper;
+  private final QrSigningProperties qrSigningProperties;
 
   @PostMapping
   public ResponseEntity<TicketValidationResponseDto> validateTicket(
@@ -30,12 +42,38 @@ public class TicketValidationController {
     if(TicketValidationMethod.MANUAL.equals(method)) {
       ticketValidation = ticketValidationService.validateTicketManually(
           ticketValidationRequestDto.getId());
+    } else if(ticketValidationRequestDto.getPayload() != null) {
+      ticketValidation = ticketValidationService.validateTicketBySignedPayload(
+          ticketValidationRequestDto.getPayload());
     } else {
       ticketValidation = ticketValidationService.validateTicketByQrCode(
           ticketValidationRequestDto.getId()
       );
     }
-    return ResponseEntity.ok(modelMapper.map(ticketValidation, TicketValidationResponseDto.class));
+    return ResponseEntity.ok(ticketMapper.toTicketValidationResponseDto(ticketValidation));
+  }
+
+  // Replays scans buffered by an offline scanner, results are returned in upload order
+  @PostMapping(path = "/batch")
+  public ResponseEntity<BatchTicketValidationResponseDto> validateTickets(
+      @Valid @RequestBody BatchTicketValidationRequestDto batchTicketValidationRequestDto
+  ){
+    List<ScannedTicket> scans = batchTicketValidationRequestDto.getItems().stream()
+        .map(item -> new ScannedTicket(item.getId(), item.getPayload(), item.getMethod(), item.getScannedAt()))
+        .toList();
+    List<BatchTicketValidationResultDto> results = ticketValidationService.validateTickets(scans).stream()
+        .map(result -> new BatchTicketValidationResultDto(result.ticketId(), result.status(), result.error()))
+        .toList();
+    return ResponseEntity.ok(new BatchTicketValidationResponseDto(results));
+  }
+
+  // Scanners cache these public keys to verify signed QR payloads while offline
+  @GetMapping(path = "/keys")
+  public ResponseEntity<QrSigningKeysResponseDto> getSigningKeys() {
+    List<QrSigningKeyDto> keys = qrSigningProperties.publicKeys().entrySet().stream()
+        .map(key -> new QrSigningKeyDto(key.getKey(), key.getValue()))
+        .toList();
+    return ResponseEntity.ok(new QrSigningKeysResponseDto(qrSigningProperties.activeKeyId(), keys));
   }
 
 }
@@ -38,6 +38,10 @@ public class Ticket {
     @JoinColumn(name = "purchaser_id")
     private User purchaser;
 
+    // Set once by the first VALID check-in, the conditional update on it decides admission
+    @Column(name = "first_validated_at")
+    private LocalDateTime firstValidatedAt;
+
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL)
     private List<TicketValidation> validations = new ArrayList<>();
 
@@ -2,8 +2,10 @@ package com.ritik.eventbackend.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,6 +14,7 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(AuditingEntityListener.class)
 @Table(name = "ticket_types")
 @Getter
 @Setter
@@ -37,6 +40,12 @@ public class TicketType {
     @Column(name = "total_available")
     private Integer totalAvailable;
 
+    // Written only by the conditional counter updates, so saving a loaded ticket type cannot roll it back
+    @Column(name = "sold", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer sold = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
@@ -1,5 +1,5 @@
 package com.ritik.eventbackend.entities.enums;
 
 public enum QrCodeStatusEnum {
-  ACTIVE, EXPIRED
+  PENDING, ACTIVE, EXPIRED
 }
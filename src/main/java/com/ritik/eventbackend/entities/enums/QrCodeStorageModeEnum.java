@@ -0,0 +1,5 @@
+package com.ritik.eventbackend.entities.enums;
+
+public enum QrCodeStorageModeEnum {
+  BASE64, BINARY, ON_DEMAND
+}
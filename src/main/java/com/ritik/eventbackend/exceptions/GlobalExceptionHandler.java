@@ -3,6 +3,7 @@ package com.ritik.eventbackend.exceptions;
 import com.ritik.eventbackend.payload.dtos.ErrorDto;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -51,6 +52,32 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDto, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(QrCodeNotReadyException.class)
+    public ResponseEntity<ErrorDto> handleQrCodeNotReadyException(QrCodeNotReadyException ex) {
+        log.debug("Caught QrCodeNotReadyException", ex);
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("QR code is still being generated");
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDto);
+    }
+
+    @ExceptionHandler(InvalidQrCodePayloadException.class)
+    public ResponseEntity<ErrorDto> handleInvalidQrCodePayloadException(InvalidQrCodePayloadException ex) {
+        log.error("Caught InvalidQrCodePayloadException", ex);
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Invalid QR code");
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorDto> handleInvalidCursorException(InvalidCursorException ex) {
+        log.error("Caught InvalidCursorException", ex);
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Invalid cursor");
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(EventUpdateException.class)
     public ResponseEntity<ErrorDto> handleEventUpdateException(EventUpdateException ex) {
         log.error("Caught EventUpdateException", ex);
@@ -68,6 +95,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(TicketTypeNotOnSaleException.class)
+    public ResponseEntity<ErrorDto> handleTicketTypeNotOnSaleException(TicketTypeNotOnSaleException ex) {
+        log.error("Caught TicketTypeNotOnSaleException", ex);
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Ticket type not found");
+        return new ResponseEntity<>(errorDto, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(EventNotFoundException.class)
     public ResponseEntity<ErrorDto> handleEventNotFoundException(EventNotFoundException ex) {
         log.error("Caught EventNotFoundException", ex);
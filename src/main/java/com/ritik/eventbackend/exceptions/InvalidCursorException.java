@@ -0,0 +1,24 @@
+package com.ritik.eventbackend.exceptions;
+
+public class InvalidCursorException extends EventTicketException {
+
+  public InvalidCursorException() {
+  }
+
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+
+  public InvalidCursorException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public InvalidCursorException(Throwable cause) {
+    super(cause);
+  }
+
+  public InvalidCursorException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
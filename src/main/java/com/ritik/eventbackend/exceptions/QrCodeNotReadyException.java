@@ -0,0 +1,24 @@
+package com.ritik.eventbackend.exceptions;
+
+public class QrCodeNotReadyException extends EventTicketException {
+
+  public QrCodeNotReadyException() {
+  }
+
+  public QrCodeNotReadyException(String message) {
+    super(message);
+  }
+
+  public QrCodeNotReadyException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public QrCodeNotReadyException(Throwable cause) {
+    super(cause);
+  }
+
+  public QrCodeNotReadyException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
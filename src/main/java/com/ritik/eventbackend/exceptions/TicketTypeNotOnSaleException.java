@@ -0,0 +1,24 @@
+package com.ritik.eventbackend.exceptions;
+
+public class TicketTypeNotOnSaleException extends EventTicketException {
+
+    public TicketTypeNotOnSaleException() {
+    }
+
+    public TicketTypeNotOnSaleException(String message) {
+        super(message);
+    }
+
+    public TicketTypeNotOnSaleException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public TicketTypeNotOnSaleException(Throwable cause) {
+        super(cause);
+    }
+
+    public TicketTypeNotOnSaleException(String message, Throwable cause, boolean enableSuppression,
+                                        boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
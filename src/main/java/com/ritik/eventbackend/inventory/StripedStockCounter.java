@@ -0,0 +1,93 @@
+package com.ritik.eventbackend.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Remaining stock for one ticket type, split across independently updated stripes so that
+ * concurrent buyers mostly CAS different cache lines. A buyer starts at the stripe picked by its
+ * thread and only walks the other stripes once its own stripe runs dry.
+ */
+public final class StripedStockCounter {
+
+    // One counter per 64-byte cache line
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+
+    public StripedStockCounter(long initialStock, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+
+        long stock = Math.max(0, initialStock);
+        long share = stock / stripes;
+        long remainder = stock % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    public boolean tryAcquire(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        int home = homeStripe();
+
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake(stripeIndex(home + i), quantity, quantity) == quantity) {
+                return true;
+            }
+        }
+
+        // No single stripe can cover the request, gather it piecewise and give it back if the total falls short
+        long taken = 0;
+        for (int i = 0; i < stripes && taken < quantity; i++) {
+            taken += tryTake(stripeIndex(home + i), 1, quantity - taken);
+        }
+        if (taken < quantity) {
+            if (taken > 0) {
+                cells.addAndGet(stripeIndex(home), taken);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public void release(int quantity) {
+        if (quantity > 0) {
+            cells.addAndGet(stripeIndex(homeStripe()), quantity);
+        }
+    }
+
+    public long remaining() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private long tryTake(int index, long min, long max) {
+        while (true) {
+            long current = cells.get(index);
+            if (current < min) {
+                return 0;
+            }
+            long take = Math.min(current, max);
+            if (cells.compareAndSet(index, current, current - take)) {
+                return take;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        return (int) (Thread.currentThread().threadId() % stripes);
+    }
+
+    private int stripeIndex(int stripe) {
+        return (stripe % stripes) * PADDING;
+    }
+}
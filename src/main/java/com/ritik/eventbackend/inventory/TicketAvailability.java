@@ -0,0 +1,44 @@
+package com.ritik.eventbackend.inventory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ritik.eventbackend.messaging.PublishedEventChangedEvent;
+import com.ritik.eventbackend.repositories.TicketTypeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remaining stock per ticket type of an event, read from the {@link TicketReservationEngine}
+ * counters that the purchase path keeps current. The ticket types of an event are looked up once,
+ * with their sold counters seeding any counter not loaded yet, and again only after the event
+ * changes or its entry expired from the bounded cache, so page views never count tickets.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketAvailability {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketReservationEngine ticketReservationEngine;
+    private final Cache<UUID, List<UUID>> eventTicketTypeIdsCache;
+
+    public List<TicketTypeAvailability> forEvent(UUID eventId) {
+        return eventTicketTypeIdsCache.get(eventId, this::loadTicketTypes).stream()
+                .map(ticketTypeId -> new TicketTypeAvailability(ticketTypeId, ticketReservationEngine.remaining(ticketTypeId)))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublishedEventChanged(PublishedEventChangedEvent event) {
+        eventTicketTypeIdsCache.invalidate(event.eventId());
+    }
+
+    private List<UUID> loadTicketTypes(UUID eventId) {
+        // Callers only ask for published events, so an event without ticket types is remembered as well
+        List<TicketTypeRepository.RemainingStock> stocks = ticketTypeRepository.findRemainingStockByEventId(eventId);
+        ticketReservationEngine.load(stocks);
+        return stocks.stream().map(TicketTypeRepository.RemainingStock::getId).toList();
+    }
+}
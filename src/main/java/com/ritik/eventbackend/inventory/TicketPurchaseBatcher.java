@@ -0,0 +1,259 @@
+package com.ritik.eventbackend.inventory;
+
+import com.ritik.eventbackend.entities.Ticket;
+import com.ritik.eventbackend.entities.TicketType;
+import com.ritik.eventbackend.entities.User;
+import com.ritik.eventbackend.entities.enums.TicketStatusEnum;
+import com.ritik.eventbackend.exceptions.EventTicketException;
+import com.ritik.eventbackend.exceptions.TicketsSoldOutException;
+import com.ritik.eventbackend.exceptions.UserNotFoundException;
+import com.ritik.eventbackend.repositories.TicketRepository;
+import com.ritik.eventbackend.repositories.TicketTypeRepository;
+import com.ritik.eventbackend.repositories.UserRepository;
+import com.ritik.eventbackend.services.QrCodeService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group-commits purchases that were admitted by the {@link TicketReservationEngine}. A single
+ * flusher drains whatever is queued, applies one conditional sold counter update per ticket type
+ * in ticket type id order, so that concurrent batches and carts never deadlock on each other, and
+ * inserts all tickets of the batch in one transaction. If a batch
+ * fails, its purchases are retried one by one so a single bad purchase cannot fail its neighbours.
+ * A caller gives up on a purchase that is still queued after the configured purchase timeout. Once
+ * the flusher has taken it, the caller waits for the real outcome instead, which the same timeout
+ * on the flusher's transactions bounds, so a purchase that commits is never reported as failed.
+ * Anything still queued at shutdown is failed and its reservations released.
+ */
+@Component
+@Slf4j
+public class TicketPurchaseBatcher {
+
+    private record PendingPurchase(UUID userId, SortedMap<UUID, Integer> quantities,
+                                   CompletableFuture<List<Ticket>> result) {
+    }
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final QrCodeService qrCodeService;
+    private final TicketReservationEngine ticketReservationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final Duration purchaseTimeout;
+    private final BlockingQueue<PendingPurchase> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public TicketPurchaseBatcher(TicketTypeRepository ticketTypeRepository,
+                                 TicketRepository ticketRepository,
+                                 UserRepository userRepository,
+                                 QrCodeService qrCodeService,
+                                 TicketReservationEngine ticketReservationEngine,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${tickets.inventory.purchase-batch-size:100}") int maxBatchSize,
+                                 @Value("${tickets.inventory.purchase-queue-capacity:10000}") int queueCapacity,
+                                 @Value("${tickets.inventory.purchase-timeout:PT30S}") Duration purchaseTimeout) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.qrCodeService = qrCodeService;
+        this.ticketReservationEngine = ticketReservationEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, purchaseTimeout.toSeconds()));
+        this.maxBatchSize = maxBatchSize;
+        this.purchaseTimeout = purchaseTimeout;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("ticket-purchase-flusher").daemon().start(this::runFlusher);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        List<PendingPurchase> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(purchase -> fail(purchase, new EventTicketException("Ticket purchases are shutting down")));
+    }
+
+    public List<Ticket> purchase(UUID userId, SortedMap<UUID, Integer> quantities) {
+        PendingPurchase purchase = new PendingPurchase(userId, quantities, new CompletableFuture<>());
+        if (!running) {
+            ticketReservationEngine.releaseAll(quantities);
+            throw new EventTicketException("Ticket purchases are shutting down");
+        }
+        try {
+            if (!queue.offer(purchase, purchaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                ticketReservationEngine.releaseAll(quantities);
+                throw new EventTicketException("Timed out queuing purchase");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            ticketReservationEngine.releaseAll(quantities);
+            throw new EventTicketException("Interrupted while queuing purchase", ex);
+        }
+
+        try {
+            return purchase.result().get(purchaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            if (queue.remove(purchase)) {
+                EventTicketException timedOut = new EventTicketException("Timed out waiting for purchase to be written", ex);
+                fail(purchase, timedOut);
+                throw timedOut;
+            }
+            // Already taken by the flusher, it may commit, so only its outcome can be reported
+            return awaitWritten(purchase);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (queue.remove(purchase)) {
+                EventTicketException interrupted = new EventTicketException("Interrupted while waiting for purchase", ex);
+                fail(purchase, interrupted);
+                throw interrupted;
+            }
+            return awaitWritten(purchase);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    // Not interruptible, the interrupt is kept for the caller once the outcome is known
+    private List<Ticket> awaitWritten(PendingPurchase purchase) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return purchase.result().get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    throw unwrap(ex);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new EventTicketException(ex.getCause());
+    }
+
+    private void runFlusher() {
+        List<PendingPurchase> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPurchase first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected failure in purchase flusher", ex);
+                batch.forEach(purchase -> fail(purchase, ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPurchase> batch) {
+        try {
+            List<List<Ticket>> tickets = transactionTemplate.execute(status -> write(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(tickets.get(i));
+            }
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), ex);
+                return;
+            }
+            log.debug("Purchase batch of {} failed, retrying purchases individually", batch.size(), ex);
+            for (PendingPurchase purchase : batch) {
+                try {
+                    List<List<Ticket>> tickets = transactionTemplate.execute(status -> write(List.of(purchase)));
+                    purchase.result().complete(tickets.get(0));
+                } catch (RuntimeException single) {
+                    fail(purchase, single);
+                }
+            }
+        }
+    }
+
+    private List<List<Ticket>> write(List<PendingPurchase> batch) {
+        SortedMap<UUID, Integer> quantities = new TreeMap<>();
+        batch.forEach(purchase -> purchase.quantities().forEach((ticketTypeId, quantity) ->
+                quantities.merge(ticketTypeId, quantity, Integer::sum)));
+        quantities.forEach((ticketTypeId, quantity) -> {
+            if (ticketTypeRepository.incrementSoldIfAvailable(ticketTypeId, quantity) == 0) {
+                throw new TicketsSoldOutException();
+            }
+        });
+
+        Set<UUID> userIds = batch.stream().map(PendingPurchase::userId).collect(Collectors.toSet());
+        Map<UUID, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<List<Ticket>> ticketsPerPurchase = new ArrayList<>(batch.size());
+        for (PendingPurchase purchase : batch) {
+            User user = users.get(purchase.userId());
+            if (user == null) {
+                throw new UserNotFoundException("User with ID %s was not found".formatted(purchase.userId()));
+            }
+            List<Ticket> tickets = new ArrayList<>();
+            purchase.quantities().forEach((ticketTypeId, quantity) -> {
+                TicketType ticketType = ticketTypeRepository.getReferenceById(ticketTypeId);
+                for (int i = 0; i < quantity; i++) {
+                    Ticket ticket = new Ticket();
+                    ticket.setStatus(TicketStatusEnum.PURCHASED);
+                    ticket.setTicketType(ticketType);
+                    ticket.setPurchaser(user);
+                    tickets.add(ticket);
+                }
+            });
+            ticketsPerPurchase.add(ticketRepository.saveAll(tickets));
+        }
+
+        ticketsPerPurchase.forEach(tickets -> tickets.forEach(qrCodeService::generateQrCode));
+        return ticketsPerPurchase;
+    }
+
+    private void fail(PendingPurchase purchase, RuntimeException ex) {
+        if (purchase.result().isDone()) {
+            return;
+        }
+        if (ex instanceof TicketsSoldOutException) {
+            // The database disagrees with our counters, so rebuild them from the sold counters
+            purchase.quantities().keySet().forEach(ticketReservationEngine::evict);
+        } else {
+            ticketReservationEngine.releaseAll(purchase.quantities());
+        }
+        purchase.result().completeExceptionally(ex);
+    }
+}
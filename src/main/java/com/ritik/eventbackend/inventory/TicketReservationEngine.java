@@ -0,0 +1,101 @@
+package com.ritik.eventbackend.inventory;
+
+import com.ritik.eventbackend.entities.enums.EventStatusEnum;
+import com.ritik.eventbackend.exceptions.TicketTypeNotFoundException;
+import com.ritik.eventbackend.repositories.TicketTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory admission control for ticket purchases. Buyers are admitted or rejected against
+ * striped per-ticket-type counters so that only winners reach the database, where the
+ * conditional sold counter update stays the source of truth. Counters are seeded from the sold
+ * counter, for published events on startup and lazily for anything not preloaded.
+ */
+@Component
+@Slf4j
+public class TicketReservationEngine {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final int stripes;
+    private final Map<UUID, StripedStockCounter> counters = new ConcurrentHashMap<>();
+
+    public TicketReservationEngine(TicketTypeRepository ticketTypeRepository,
+                                   @Value("${tickets.inventory.reservation-stripes:0}") int stripes) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        load(ticketTypeRepository.findRemainingStockByEventStatus(EventStatusEnum.PUBLISHED));
+        log.info("Preloaded reservation counters for {} ticket types", counters.size());
+    }
+
+    public void load(List<TicketTypeRepository.RemainingStock> stocks) {
+        stocks.forEach(stock -> counters.putIfAbsent(stock.getId(), newCounter(stock.getRemaining())));
+    }
+
+    // Includes reservations whose purchase is still being written, so buyers see what they can still get
+    public long remaining(UUID ticketTypeId) {
+        return counterFor(ticketTypeId).remaining();
+    }
+
+    public boolean tryReserve(UUID ticketTypeId, int quantity) {
+        return counterFor(ticketTypeId).tryAcquire(quantity);
+    }
+
+    public boolean tryReserveAll(SortedMap<UUID, Integer> quantities) {
+        Map<UUID, Integer> reserved = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<UUID, Integer> line : quantities.entrySet()) {
+                if (!tryReserve(line.getKey(), line.getValue())) {
+                    releaseAll(reserved);
+                    return false;
+                }
+                reserved.put(line.getKey(), line.getValue());
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            releaseAll(reserved);
+            throw ex;
+        }
+    }
+
+    public void releaseAll(Map<UUID, Integer> quantities) {
+        quantities.forEach(this::release);
+    }
+
+    public void release(UUID ticketTypeId, int quantity) {
+        StripedStockCounter counter = counters.get(ticketTypeId);
+        if (counter != null) {
+            counter.release(quantity);
+        }
+    }
+
+    public void evict(UUID ticketTypeId) {
+        counters.remove(ticketTypeId);
+    }
+
+    private StripedStockCounter counterFor(UUID ticketTypeId) {
+        return counters.computeIfAbsent(ticketTypeId, id -> {
+            TicketTypeRepository.RemainingStock stock = ticketTypeRepository.findRemainingStockById(id)
+                    .orElseThrow(() -> new TicketTypeNotFoundException("Ticket type with ID %s was not found".formatted(id)));
+            return newCounter(stock.getRemaining());
+        });
+    }
+
+    private StripedStockCounter newCounter(Long remaining) {
+        return new StripedStockCounter(remaining == null ? 0 : remaining, stripes);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ritik.eventbackend.inventory;
+
+import java.util.UUID;
+
+public record TicketTypeAvailability(UUID ticketTypeId, long remaining) {
+
+    public boolean soldOut() {
+        return remaining == 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ritik.eventbackend.jobs;
+
+import com.ritik.eventbackend.entities.enums.QrCodeStorageModeEnum;
+import com.ritik.eventbackend.repositories.QrCodeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves QR codes stored as Base64 text into the binary image column in small batches, so that the
+ * migration never holds long locks on qr_codes while the application is serving traffic.
+ */
+@Component
+@Slf4j
+public class QrCodeImageMigrationJob {
+
+    private final QrCodeRepository qrCodeRepository;
+    private final QrCodeStorageModeEnum storageMode;
+    private final int batchSize;
+
+    public QrCodeImageMigrationJob(QrCodeRepository qrCodeRepository,
+                                   @Value("${tickets.qr.storage:BINARY}") QrCodeStorageModeEnum storageMode,
+                                   @Value("${tickets.qr.migration-batch-size:1000}") int batchSize) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.storageMode = storageMode;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (QrCodeStorageModeEnum.BINARY.equals(storageMode)) {
+            Thread.ofVirtual().name("qr-image-migration").start(this::migrate);
+        }
+    }
+
+    private void migrate() {
+        long migrated = 0;
+        try {
+            int updated;
+            do {
+                updated = qrCodeRepository.migrateBase64ValuesToImages(batchSize);
+                migrated += updated;
+            } while (updated > 0);
+        } catch (RuntimeException ex) {
+            log.error("QR code image migration stopped after {} rows", migrated, ex);
+            return;
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} QR codes from Base64 text to binary images", migrated);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ritik.eventbackend.jobs;
+
+import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+import com.ritik.eventbackend.repositories.QrCodeRepository;
+import com.ritik.eventbackend.services.QrCodeService;
+import com.ritik.eventbackend.validation.TicketPayloadCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reissues the signed payload of every live QR code that the configured keys can no longer
+ * verify, either because it uses an older payload format or because its signing key was retired.
+ * Codes are walked in id order in small batches after startup, so the job never holds long locks
+ * on qr_codes while the application is serving traffic.
+ */
+@Component
+@Slf4j
+public class QrCodePayloadResigningJob {
+
+    private static final Set<QrCodeStatusEnum> LIVE_STATUSES = Set.of(QrCodeStatusEnum.PENDING, QrCodeStatusEnum.ACTIVE);
+
+    private final QrCodeRepository qrCodeRepository;
+    private final QrCodeService qrCodeService;
+    private final TicketPayloadCodec ticketPayloadCodec;
+    private final int batchSize;
+
+    public QrCodePayloadResigningJob(QrCodeRepository qrCodeRepository,
+                                     QrCodeService qrCodeService,
+                                     TicketPayloadCodec ticketPayloadCodec,
+                                     @Value("${tickets.qr.migration-batch-size:1000}") int batchSize) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.qrCodeService = qrCodeService;
+        this.ticketPayloadCodec = ticketPayloadCodec;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofVirtual().name("qr-payload-resigning").start(this::resign);
+    }
+
+    private void resign() {
+        long resigned = 0;
+        UUID after = new UUID(0, 0);
+        try {
+            List<QrCodeRepository.QrCodePayload> batch;
+            do {
+                batch = qrCodeRepository.findPayloadsByIdAfterAndStatusIn(after, LIVE_STATUSES, Limit.of(batchSize));
+                List<UUID> stale = batch.stream()
+                        .filter(qrCode -> !ticketPayloadCodec.isVerifiable(qrCode.getPayload()))
+                        .map(QrCodeRepository.QrCodePayload::getId)
+                        .toList();
+                if (!stale.isEmpty()) {
+                    qrCodeService.resignQrCodes(stale);
+                    resigned += stale.size();
+                }
+                if (!batch.isEmpty()) {
+                    after = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException ex) {
+            log.error("QR code payload re-signing stopped after {} codes", resigned, ex);
+            return;
+        }
+        if (resigned > 0) {
+            log.info("Re-signed {} QR code payloads with the active signing key", resigned);
+        }
+    }
+}
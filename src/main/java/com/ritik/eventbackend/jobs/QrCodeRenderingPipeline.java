@@ -0,0 +1,88 @@
+package com.ritik.eventbackend.jobs;
+
+import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+import com.ritik.eventbackend.messaging.QrCodeRequestedEvent;
+import com.ritik.eventbackend.repositories.QrCodeRepository;
+import com.ritik.eventbackend.services.QrCodeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Renders QR code images outside the purchase transaction. Codes are queued once the purchase
+ * commits and rendered on a bounded worker pool. Anything that never reached a worker (full queue,
+ * crash, restart) is still PENDING in the database and is picked up by the recovery sweep.
+ */
+@Component
+@Slf4j
+public class QrCodeRenderingPipeline {
+
+    private final QrCodeService qrCodeService;
+    private final QrCodeRepository qrCodeRepository;
+    private final ThreadPoolExecutor executor;
+    private final int recoveryBatchSize;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public QrCodeRenderingPipeline(QrCodeService qrCodeService,
+                                   QrCodeRepository qrCodeRepository,
+                                   @Value("${tickets.qr.render-workers:0}") int workers,
+                                   @Value("${tickets.qr.render-queue-capacity:10000}") int queueCapacity,
+                                   @Value("${tickets.qr.recovery-batch-size:500}") int recoveryBatchSize) {
+        this.qrCodeService = qrCodeService;
+        this.qrCodeRepository = qrCodeRepository;
+        this.recoveryBatchSize = recoveryBatchSize;
+
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("qr-renderer-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @TransactionalEventListener
+    public void onQrCodeRequested(QrCodeRequestedEvent event) {
+        submit(event.qrCodeId());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tickets.qr.recovery-interval:PT1M}")
+    public void recoverPendingQrCodes() {
+        qrCodeRepository.findIdsByStatus(QrCodeStatusEnum.PENDING, PageRequest.ofSize(recoveryBatchSize))
+                .forEach(this::submit);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void submit(UUID qrCodeId) {
+        if (!inFlight.add(qrCodeId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> render(qrCodeId));
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(qrCodeId);
+            log.debug("QR render queue is full, leaving {} for the recovery sweep", qrCodeId);
+        }
+    }
+
+    private void render(UUID qrCodeId) {
+        try {
+            qrCodeService.renderQrCode(qrCodeId);
+        } catch (RuntimeException ex) {
+            log.error("Failed to render QR code {}", qrCodeId, ex);
+        } finally {
+            inFlight.remove(qrCodeId);
+        }
+    }
+}
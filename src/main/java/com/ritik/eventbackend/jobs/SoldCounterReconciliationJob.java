@@ -0,0 +1,53 @@
+package com.ritik.eventbackend.jobs;
+
+import com.ritik.eventbackend.entities.TicketType;
+import com.ritik.eventbackend.inventory.TicketReservationEngine;
+import com.ritik.eventbackend.repositories.TicketRepository;
+import com.ritik.eventbackend.repositories.TicketTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checks the {@link TicketType#getSold()} counter maintained by the purchase path against the
+ * tickets table and repairs any drift. The repair locks the ticket type row before counting so
+ * that it cannot race with an in-flight purchase. Once the repair commits, the reservation
+ * counter of the ticket type is dropped so it is seeded again from the corrected value.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SoldCounterReconciliationJob {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketReservationEngine ticketReservationEngine;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tickets.inventory.reconciliation-interval:PT5M}")
+    public void reconcile() {
+        List<UUID> driftedIds = ticketTypeRepository.findIdsWithDriftedSoldCounter();
+        for (UUID ticketTypeId : driftedIds) {
+            boolean reset = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                TicketType ticketType = ticketTypeRepository.findByIdWithLock(ticketTypeId).orElse(null);
+                if (ticketType == null) {
+                    return false;
+                }
+                int previous = ticketType.getSold();
+                int corrected = ticketRepository.countByTicketTypeId(ticketTypeId);
+                ticketTypeRepository.resetSoldCounter(ticketTypeId, corrected);
+                log.warn("Reconciled sold counter for ticket type {} from {} to {}", ticketTypeId, previous, corrected);
+                return true;
+            }));
+            // The transaction has committed here, so the counter reloads the corrected sold value
+            if (reset) {
+                ticketReservationEngine.evict(ticketTypeId);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ritik.eventbackend.mappers;
+
+import com.ritik.eventbackend.entities.Event;
+import com.ritik.eventbackend.payload.CreateEventRequest;
+import com.ritik.eventbackend.payload.UpdateEventRequest;
+import com.ritik.eventbackend.payload.dtos.*;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface EventMapper {
+
+    CreateEventRequest toCreateEventRequest(CreateEventRequestDto dto);
+
+    UpdateEventRequest toUpdateEventRequest(UpdateEventRequestDto dto);
+
+    CreateEventResponseDto toCreateEventResponseDto(Event event);
+
+    UpdateEventResponseDto toUpdateEventResponseDto(Event event);
+
+    ListEventResponseDto toListEventResponseDto(Event event);
+
+    GetEventDetailsResponseDto toGetEventDetailsResponseDto(Event event);
+
+    @Mapping(target = "remaining", ignore = true)
+    @Mapping(target = "soldOut", ignore = true)
+    ListPublishedEventResponseDto toListPublishedEventResponseDto(Event event);
+
+    @Mapping(target = "availability", ignore = true)
+    GetPublishedEventDetailsResponseDto toGetPublishedEventDetailsResponseDto(Event event);
+}
@@ -0,0 +1,27 @@
+package com.ritik.eventbackend.mappers;
+
+import com.ritik.eventbackend.entities.Ticket;
+import com.ritik.eventbackend.entities.TicketValidation;
+import com.ritik.eventbackend.payload.dtos.GetTicketResponseDto;
+import com.ritik.eventbackend.payload.dtos.ListTicketResponseDto;
+import com.ritik.eventbackend.payload.dtos.TicketValidationResponseDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface TicketMapper {
+
+    ListTicketResponseDto toListTicketResponseDto(Ticket ticket);
+
+    @Mapping(target = "price", source = "ticketType.price")
+    @Mapping(target = "description", source = "ticketType.description")
+    @Mapping(target = "eventName", source = "ticketType.event.name")
+    @Mapping(target = "eventVenue", source = "ticketType.event.venue")
+    @Mapping(target = "eventStart", source = "ticketType.event.start")
+    @Mapping(target = "eventEnd", source = "ticketType.event.end")
+    GetTicketResponseDto toGetTicketResponseDto(Ticket ticket);
+
+    @Mapping(target = "ticketId", source = "ticket.id")
+    TicketValidationResponseDto toTicketValidationResponseDto(TicketValidation ticketValidation);
+}
@@ -0,0 +1,10 @@
+package com.ritik.eventbackend.messaging;
+
+import java.util.UUID;
+
+/**
+ * Published whenever an event is created, updated or deleted, since any of these can change what
+ * the public published-events endpoints return.
+ */
+public record PublishedEventChangedEvent(UUID eventId) {
+}
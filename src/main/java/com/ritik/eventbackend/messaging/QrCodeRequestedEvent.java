@@ -0,0 +1,6 @@
+package com.ritik.eventbackend.messaging;
+
+import java.util.UUID;
+
+public record QrCodeRequestedEvent(UUID qrCodeId) {
+}
@@ -0,0 +1,72 @@
+package com.ritik.eventbackend.payload;
+
+import com.ritik.eventbackend.exceptions.InvalidCursorException;
+import com.ritik.eventbackend.payload.dtos.CursorPageResponseDto;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position after the last row of a keyset page. Listings scroll on (createdAt, id), which is
+ * unique and never changes for a row, so a cursor stays valid while rows are inserted ahead of it.
+ * Encoded as base64url of the creation time in epoch microseconds followed by the id.
+ */
+public record PageCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + 2 * Long.BYTES;
+
+    public static ScrollPosition positionOf(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        PageCursor pageCursor = decode(cursor);
+        return ScrollPosition.forward(Map.of("createdAt", pageCursor.createdAt(), "id", pageCursor.id()));
+    }
+
+    public static String nextOf(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        return new PageCursor((LocalDateTime) position.getKeys().get("createdAt"), (UUID) position.getKeys().get("id"))
+                .encode();
+    }
+
+    public static <T, R> CursorPageResponseDto<R> page(Window<T> window, Function<T, R> mapper) {
+        return new CursorPageResponseDto<>(window.getContent().stream().map(mapper).toList(), nextOf(window), window.hasNext());
+    }
+
+    public String encode() {
+        long micros = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000;
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(micros)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static PageCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor is not base64url", ex);
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new InvalidCursorException("Cursor has %d bytes".formatted(bytes.length));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long micros = buffer.getLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        return new PageCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
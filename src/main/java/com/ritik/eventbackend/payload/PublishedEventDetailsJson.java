@@ -0,0 +1,9 @@
+package com.ritik.eventbackend.payload;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serialized details response of a published event, valid while the event's updatedAt matches.
+ */
+public record PublishedEventDetailsJson(LocalDateTime updatedAt, byte[] body) {
+}
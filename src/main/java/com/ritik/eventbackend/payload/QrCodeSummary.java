@@ -0,0 +1,8 @@
+package com.ritik.eventbackend.payload;
+
+import java.util.UUID;
+
+import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+
+public record QrCodeSummary(UUID id, QrCodeStatusEnum status, String payload) {
+}
@@ -0,0 +1,8 @@
+package com.ritik.eventbackend.payload;
+
+import java.util.UUID;
+
+import com.ritik.eventbackend.entities.enums.QrCodeFormatEnum;
+
+public record QrCodeVariant(UUID qrCodeId, QrCodeFormatEnum format, int size) {
+}
@@ -0,0 +1,22 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTicketValidationItemDto {
+  private UUID id;
+  private String payload;
+  private TicketValidationMethod method;
+
+  @NotNull(message = "Scan time is required")
+  private LocalDateTime scannedAt;
+}
@@ -0,0 +1,21 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTicketValidationRequestDto {
+
+  @NotEmpty(message = "At least one scan is required")
+  @Size(max = 1000, message = "A batch can contain at most 1000 scans")
+  @Valid
+  private List<BatchTicketValidationItemDto> items;
+}
@@ -0,0 +1,14 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTicketValidationResponseDto {
+  private List<BatchTicketValidationResultDto> results;
+}
@@ -0,0 +1,17 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.UUID;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTicketValidationResultDto {
+  private UUID ticketId;
+  private TicketValidationStatusEnum status;
+  private String error;
+}
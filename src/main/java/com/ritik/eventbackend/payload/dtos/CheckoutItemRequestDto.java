@@ -0,0 +1,24 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutItemRequestDto {
+
+  @NotNull(message = "Ticket type ID is required")
+  private UUID ticketTypeId;
+
+  @NotNull(message = "Quantity is required")
+  @Min(value = 1, message = "Quantity must be at least 1")
+  @Max(value = 50, message = "Quantity must be at most 50")
+  private Integer quantity;
+}
@@ -0,0 +1,47 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutRequestDto {
+
+  public static final int MAX_QUANTITY_PER_TICKET_TYPE = 50;
+
+  @NotEmpty(message = "At least one item is required")
+  @Size(max = 20, message = "A cart can contain at most 20 items")
+  @Valid
+  private List<CheckoutItemRequestDto> items;
+
+  // Lines for the same ticket type are merged, so the per-line limit alone does not bound the cart
+  @JsonIgnore
+  @AssertTrue(message = "Quantity per ticket type must be at most " + MAX_QUANTITY_PER_TICKET_TYPE)
+  public boolean isQuantityPerTicketTypeWithinLimit() {
+    if (items == null || items.stream().anyMatch(item -> item == null || item.getTicketTypeId() == null || item.getQuantity() == null)) {
+      // Reported by the item constraints
+      return true;
+    }
+    return quantitiesByTicketType().values().stream().allMatch(quantity -> quantity <= MAX_QUANTITY_PER_TICKET_TYPE);
+  }
+
+  public Map<UUID, Integer> quantitiesByTicketType() {
+    return items.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toMap(CheckoutItemRequestDto::getTicketTypeId,
+                    CheckoutItemRequestDto::getQuantity, Integer::sum));
+  }
+}
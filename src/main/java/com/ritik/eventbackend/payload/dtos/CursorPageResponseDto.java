@@ -0,0 +1,17 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponseDto<T> {
+
+  private List<T> content = new ArrayList<>();
+  private String nextCursor;
+  private boolean hasNext;
+}
@@ -1,5 +1,6 @@
 package com.ritik.eventbackend.payload.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,4 +20,7 @@ public class GetPublishedEventDetailsResponseDto {
   private LocalDateTime end;
   private String venue;
   private List<GetPublishedEventDetailsTicketTypesResponseDto> ticketTypes = new ArrayList<>();
+  // Live, never part of the cached body, see TicketAvailabilityService
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private List<TicketTypeAvailabilityDto> availability;
 }
@@ -1,5 +1,6 @@
 package com.ritik.eventbackend.payload.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -16,4 +17,9 @@ public class ListPublishedEventResponseDto {
   private LocalDateTime start;
   private LocalDateTime end;
   private String venue;
+  // Left out for events without ticket types
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long remaining;
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Boolean soldOut;
 }
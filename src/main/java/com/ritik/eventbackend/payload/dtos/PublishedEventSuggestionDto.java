@@ -0,0 +1,18 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublishedEventSuggestionDto {
+
+  private UUID id;
+  private String name;
+  private String venue;
+  private LocalDateTime start;
+}
@@ -0,0 +1,17 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseTicketsResponseDto {
+
+  private List<UUID> ticketIds = new ArrayList<>();
+}
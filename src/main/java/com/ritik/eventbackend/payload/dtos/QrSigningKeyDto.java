@@ -0,0 +1,13 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QrSigningKeyDto {
+  private String keyId;
+  private String publicKey;
+}
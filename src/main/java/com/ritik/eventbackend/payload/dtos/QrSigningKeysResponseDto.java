@@ -0,0 +1,15 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QrSigningKeysResponseDto {
+  private String activeKeyId;
+  private List<QrSigningKeyDto> keys;
+}
@@ -0,0 +1,16 @@
+package com.ritik.eventbackend.payload.dtos;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketTypeAvailabilityDto {
+
+  private UUID ticketTypeId;
+  private long remaining;
+  private boolean soldOut;
+}
@@ -12,5 +12,6 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class TicketValidationRequestDto {
   private UUID id;
+  private String payload;
   private TicketValidationMethod method;
 }
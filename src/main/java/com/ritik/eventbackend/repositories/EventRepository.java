@@ -2,35 +2,72 @@ package com.ritik.eventbackend.repositories;
 
 import com.ritik.eventbackend.entities.Event;
 import com.ritik.eventbackend.entities.enums.EventStatusEnum;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
 
+    interface SuggestionSource {
+        UUID getId();
+        String getName();
+        String getVenue();
+        LocalDateTime getStart();
+    }
+
     Page<Event> findByOrganizerId(UUID organizerId, Pageable pageable);
 
+    Window<Event> findByOrganizerId(UUID organizerId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "ticketTypes")
     Optional<Event> findByIdAndOrganizerId(UUID id, UUID organizerId);
 
+    @Query("SELECT COUNT(e) > 0 FROM Event e LEFT JOIN e.staff s " +
+            "WHERE e.id = :id AND (e.organizer.id = :userId OR s.id = :userId)")
+    boolean existsByIdAndOrganizerOrStaff(@Param("id") UUID id, @Param("userId") UUID userId);
+
     Page<Event> findByStatus(EventStatusEnum status, Pageable pageable);
 
+    Window<Event> findByStatus(EventStatusEnum status, ScrollPosition position, Sort sort, Limit limit);
+
+    // search_vector is a stored generated column with a partial GIN index, see schema.sql
     @Query(value = "SELECT * FROM events WHERE " +
             "status = 'PUBLISHED' AND " +
-            "to_tsvector('english', COALESCE(name, '') || ' ' || COALESCE(venue, '')) " +
-            "@@ plainto_tsquery('english', :searchTerm)",
+            "search_vector @@ plainto_tsquery('english', :searchTerm)",
             countQuery = "SELECT count(*) FROM events WHERE " +
                     "status = 'PUBLISHED' AND " +
-                    "to_tsvector('english', COALESCE(name, '') || ' ' || COALESCE(venue, '')) " +
-                    "@@ plainto_tsquery('english', :searchTerm)",
+                    "search_vector @@ plainto_tsquery('english', :searchTerm)",
             nativeQuery = true)
     Page<Event> searchEvents(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+    @EntityGraph(attributePaths = "ticketTypes")
     Optional<Event> findByIdAndStatus(UUID id, EventStatusEnum status);
+
+    @Query("SELECT e.end FROM Event e WHERE e.id = :id")
+    Optional<LocalDateTime> findEndById(@Param("id") UUID id);
+
+    @Query("SELECT e.updatedAt FROM Event e WHERE e.id = :id AND e.status = :status")
+    Optional<LocalDateTime> findUpdatedAtByIdAndStatus(@Param("id") UUID id, @Param("status") EventStatusEnum status);
+
+    @Query("SELECT e.id AS id, e.name AS name, e.venue AS venue, e.start AS start FROM Event e " +
+            "WHERE e.status = :status ORDER BY e.start DESC")
+    List<SuggestionSource> findSuggestionSourcesByStatus(@Param("status") EventStatusEnum status, Limit limit);
+
+    @Query("SELECT e.id AS id, e.name AS name, e.venue AS venue, e.start AS start FROM Event e " +
+            "WHERE e.id = :id AND e.status = :status")
+    Optional<SuggestionSource> findSuggestionSourceByIdAndStatus(@Param("id") UUID id, @Param("status") EventStatusEnum status);
 }
\ No newline at end of file
@@ -1,15 +1,116 @@
 package com.ritik.eventbackend.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import com.ritik.eventbackend.entities.QrCode;
 import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface QrCodeRepository extends JpaRepository<QrCode, UUID> {
+
+  interface QrCodeSummary {
+    UUID getId();
+    QrCodeStatusEnum getStatus();
+    String getPayload();
+  }
+
+  interface QrCodePayload {
+    UUID getId();
+    String getPayload();
+  }
+
+  interface QrCodeSigningSource {
+    UUID getId();
+    UUID getTicketId();
+    UUID getEventId();
+    LocalDateTime getEventStart();
+    LocalDateTime getEventEnd();
+  }
+
+  interface QrCodeTicket {
+    UUID getId();
+    UUID getTicketId();
+  }
+
+  interface QrCodeImage {
+    UUID getId();
+    QrCodeStatusEnum getStatus();
+    byte[] getImage();
+    String getValue();
+  }
+
   Optional<QrCode> findByTicketIdAndTicketPurchaserId(UUID ticketId, UUID ticketPurchaseId);
   Optional<QrCode> findByIdAndStatus(UUID id, QrCodeStatusEnum status);
+
+  @Query("SELECT q.id AS id, q.status AS status, q.payload AS payload FROM QrCode q " +
+          "WHERE q.ticket.id = :ticketId AND q.ticket.purchaser.id = :purchaserId")
+  Optional<QrCodeSummary> findSummaryByTicketIdAndPurchaserId(@Param("ticketId") UUID ticketId,
+                                                              @Param("purchaserId") UUID purchaserId);
+
+  @Query("SELECT q.id AS id, q.ticket.id AS ticketId FROM QrCode q WHERE q.id IN :ids AND q.status = :status")
+  List<QrCodeTicket> findTicketIdsByIdInAndStatus(@Param("ids") Collection<UUID> ids,
+                                                  @Param("status") QrCodeStatusEnum status);
+
+  @Query("SELECT q.id FROM QrCode q WHERE q.ticket.ticketType.event.id = :eventId AND q.status <> :status")
+  List<UUID> findIdsByEventIdAndStatusNot(@Param("eventId") UUID eventId, @Param("status") QrCodeStatusEnum status);
+
+  @Query("SELECT q.payload FROM QrCode q WHERE q.id = :id")
+  Optional<String> findPayloadById(@Param("id") UUID id);
+
+  @Query("SELECT q.id AS id, q.payload AS payload FROM QrCode q " +
+          "WHERE q.id > :after AND q.payload IS NOT NULL AND q.status IN :statuses ORDER BY q.id")
+  List<QrCodePayload> findPayloadsByIdAfterAndStatusIn(@Param("after") UUID after,
+                                                       @Param("statuses") Collection<QrCodeStatusEnum> statuses,
+                                                       Limit limit);
+
+  @Query("SELECT q.id AS id, t.id AS ticketId, e.id AS eventId, e.start AS eventStart, e.end AS eventEnd " +
+          "FROM QrCode q JOIN q.ticket t JOIN t.ticketType tt JOIN tt.event e WHERE q.id IN :ids")
+  List<QrCodeSigningSource> findSigningSourcesByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE QrCode q SET q.payload = :payload, q.image = :image, q.value = :value WHERE q.id = :id")
+  int updatePayloadAndImage(@Param("id") UUID id, @Param("payload") String payload,
+                            @Param("image") byte[] image, @Param("value") String value);
+
+  @Query("SELECT q.id AS id, q.status AS status, q.image AS image, q.value AS value FROM QrCode q WHERE q.id = :id")
+  Optional<QrCodeImage> findImageById(@Param("id") UUID id);
+
+  @Query("SELECT q.id FROM QrCode q WHERE q.status = :status")
+  List<UUID> findIdsByStatus(@Param("status") QrCodeStatusEnum status, Pageable pageable);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE QrCode q SET q.value = :value, q.status = :newStatus WHERE q.id = :id AND q.status = :expectedStatus")
+  int updateValueAndStatus(@Param("id") UUID id,
+                           @Param("value") String value,
+                           @Param("expectedStatus") QrCodeStatusEnum expectedStatus,
+                           @Param("newStatus") QrCodeStatusEnum newStatus);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE QrCode q SET q.image = :image, q.status = :newStatus WHERE q.id = :id AND q.status = :expectedStatus")
+  int updateImageAndStatus(@Param("id") UUID id,
+                           @Param("image") byte[] image,
+                           @Param("expectedStatus") QrCodeStatusEnum expectedStatus,
+                           @Param("newStatus") QrCodeStatusEnum newStatus);
+
+  @Transactional
+  @Modifying
+  @Query(value = "UPDATE qr_codes SET image = decode(value, 'base64'), value = NULL " +
+          "WHERE id IN (SELECT id FROM qr_codes WHERE image IS NULL AND value IS NOT NULL LIMIT :batchSize)",
+          nativeQuery = true)
+  int migrateBase64ValuesToImages(@Param("batchSize") int batchSize);
 }
@@ -1,20 +1,77 @@
 package com.ritik.eventbackend.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import com.ritik.eventbackend.entities.Ticket;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, UUID> {
 
+  interface CheckInEntry {
+    UUID getTicketId();
+    UUID getEventId();
+    UUID getQrCodeId();
+    boolean getAdmitted();
+  }
+
+  interface ValidationState {
+    UUID getId();
+    UUID getEventId();
+    LocalDateTime getFirstValidatedAt();
+  }
+
+  String CHECK_IN_ENTRY_QUERY = "SELECT t.id AS ticketId, tt.event_id AS eventId, q.id AS qrCodeId, " +
+          "t.first_validated_at IS NOT NULL AS admitted " +
+          "FROM tickets t " +
+          "JOIN ticket_types tt ON tt.id = t.ticket_type_id " +
+          "LEFT JOIN qr_codes q ON q.ticket_id = t.id AND q.status = 'ACTIVE' ";
+
   int countByTicketTypeId(UUID ticketTypeId);
 
+  @EntityGraph(attributePaths = "ticketType")
   Page<Ticket> findByPurchaserId(UUID purchaserId, Pageable pageable);
 
+  @EntityGraph(attributePaths = "ticketType")
+  Window<Ticket> findByPurchaserId(UUID purchaserId, ScrollPosition position, Sort sort, Limit limit);
+
+  @EntityGraph(attributePaths = {"ticketType", "ticketType.event"})
   Optional<Ticket> findByIdAndPurchaserId(UUID id, UUID purchaserId);
+
+  @Query("SELECT t.id AS id, t.ticketType.event.id AS eventId, t.firstValidatedAt AS firstValidatedAt " +
+          "FROM Ticket t WHERE t.id IN :ids")
+  List<ValidationState> findValidationStatesByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Query("SELECT t.ticketType.event.id FROM Ticket t WHERE t.id = :id")
+  Optional<UUID> findEventIdById(@Param("id") UUID id);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE Ticket t SET t.firstValidatedAt = :validatedAt WHERE t.id = :id AND t.firstValidatedAt IS NULL")
+  int markFirstValidated(@Param("id") UUID id, @Param("validatedAt") LocalDateTime validatedAt);
+
+  @Query(value = CHECK_IN_ENTRY_QUERY + "WHERE tt.event_id = :eventId", nativeQuery = true)
+  List<CheckInEntry> findCheckInEntriesByEventId(@Param("eventId") UUID eventId);
+
+  @Query(value = CHECK_IN_ENTRY_QUERY + "WHERE t.id = :ticketId", nativeQuery = true)
+  List<CheckInEntry> findCheckInEntriesByTicketId(@Param("ticketId") UUID ticketId);
+
+  @Query(value = CHECK_IN_ENTRY_QUERY + "WHERE q.id = :qrCodeId", nativeQuery = true)
+  List<CheckInEntry> findCheckInEntriesByQrCodeId(@Param("qrCodeId") UUID qrCodeId);
 }
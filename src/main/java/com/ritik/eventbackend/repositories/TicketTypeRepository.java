@@ -1,20 +1,62 @@
 package com.ritik.eventbackend.repositories;
 
 import com.ritik.eventbackend.entities.TicketType;
+import com.ritik.eventbackend.entities.enums.EventStatusEnum;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TicketTypeRepository extends JpaRepository<TicketType, UUID> {
 
+  interface RemainingStock {
+    UUID getId();
+    Long getRemaining();
+  }
+
   @Query("SELECT tt FROM TicketType tt WHERE tt.id = :id")
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   Optional<TicketType> findByIdWithLock(@Param("id") UUID id);
+
+  @Modifying
+  @Query("UPDATE TicketType tt SET tt.sold = tt.sold + :quantity WHERE tt.id = :id AND tt.sold + :quantity <= tt.totalAvailable")
+  int incrementSoldIfAvailable(@Param("id") UUID id, @Param("quantity") int quantity);
+
+  @Query("SELECT COUNT(tt) FROM TicketType tt WHERE tt.id IN :ids AND tt.event.id = :eventId " +
+          "AND tt.event.status = :status " +
+          "AND (tt.event.salesStart IS NULL OR tt.event.salesStart <= :now) " +
+          "AND (tt.event.salesEnd IS NULL OR tt.event.salesEnd >= :now)")
+  long countOnSale(@Param("eventId") UUID eventId, @Param("ids") Collection<UUID> ids,
+                   @Param("status") EventStatusEnum status, @Param("now") LocalDateTime now);
+
+  @Query("SELECT tt.id AS id, tt.totalAvailable - tt.sold AS remaining FROM TicketType tt WHERE tt.id = :id")
+  Optional<RemainingStock> findRemainingStockById(@Param("id") UUID id);
+
+  @Query("SELECT tt.id AS id, tt.totalAvailable - tt.sold AS remaining FROM TicketType tt WHERE tt.event.id = :eventId")
+  List<RemainingStock> findRemainingStockByEventId(@Param("eventId") UUID eventId);
+
+  @Query("SELECT tt.id AS id, tt.totalAvailable - tt.sold AS remaining FROM TicketType tt WHERE tt.event.status = :status")
+  List<RemainingStock> findRemainingStockByEventStatus(@Param("status") EventStatusEnum status);
+
+  @Query(value = "SELECT tt.id FROM ticket_types tt " +
+          "LEFT JOIN tickets t ON t.ticket_type_id = tt.id " +
+          "GROUP BY tt.id, tt.sold " +
+          "HAVING tt.sold <> COUNT(t.id)",
+          nativeQuery = true)
+  List<UUID> findIdsWithDriftedSoldCounter();
+
+  // sold is not updatable through the entity, the purchase path and the reconciliation own it
+  @Modifying
+  @Query(value = "UPDATE ticket_types SET sold = :sold WHERE id = :id", nativeQuery = true)
+  int resetSoldCounter(@Param("id") UUID id, @Param("sold") int sold);
 }
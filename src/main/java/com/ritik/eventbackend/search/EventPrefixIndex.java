@@ -0,0 +1,230 @@
+package com.ritik.eventbackend.search;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted token map over event names and venues. A prefix lookup is a range scan of the map, and
+ * the postings of every token are ordered by event start. The postings of all matching tokens are
+ * merged in that order, upcoming events soonest first and then past events most recent first, so
+ * the lookup stops as soon as it has enough. When the index is full a new event replaces the one
+ * that started longest ago, as long as that one is in the past. Writes are serialized, reads are
+ * lock-free and check every posting against the current entry so they never return a half-updated
+ * event.
+ */
+final class EventPrefixIndex {
+
+    static final int MAX_TOKEN_LENGTH = 32;
+    static final int MAX_TOKENS_PER_EVENT = 16;
+
+    // Rough heap cost of skip list nodes, sets and records, only used for reporting
+    private static final int TOKEN_OVERHEAD_BYTES = 160;
+    private static final int POSTING_BYTES = 96;
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private record Posting(LocalDateTime start, UUID id) implements Comparable<Posting> {
+        private static final Comparator<Posting> ORDER = Comparator
+                .comparing(Posting::start, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Posting::id);
+
+        @Override
+        public int compareTo(Posting other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Entry(EventSuggestion suggestion, Posting posting, Set<String> tokens) {
+    }
+
+    // Walks the postings of one token, ordered by its current head within a merge
+    private static final class Cursor {
+        private final String token;
+        private final Iterator<Posting> postings;
+        private Posting head;
+
+        private Cursor(String token, Iterator<Posting> postings) {
+            this.token = token;
+            this.postings = postings;
+        }
+
+        private boolean advance() {
+            head = postings.hasNext() ? postings.next() : null;
+            return head != null;
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, ConcurrentSkipListSet<Posting>> postings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Posting> byStart = new TreeSet<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final int maxEntries;
+
+    EventPrefixIndex(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    // False when the index is full of events that did not start yet, or started later than this one
+    synchronized boolean put(EventSuggestion suggestion, LocalDateTime now) {
+        Entry previous = entries.get(suggestion.id());
+        Posting posting = new Posting(suggestion.start(), suggestion.id());
+        if (previous == null && entries.size() >= maxEntries && !evictPast(posting, now)) {
+            return false;
+        }
+        if (previous != null) {
+            unlink(previous);
+        }
+        Set<String> tokens = new LinkedHashSet<>(tokenize(suggestion.name() + " " + suggestion.venue()));
+        Entry entry = new Entry(suggestion, posting, Set.copyOf(tokens));
+        entries.put(suggestion.id(), entry);
+        link(entry);
+        return true;
+    }
+
+    synchronized void remove(UUID id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    List<EventSuggestion> suggest(String query, int limit, LocalDateTime now) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // The last term is the word being typed, earlier ones only narrow the matches down
+        String prefix = terms.get(terms.size() - 1);
+        List<String> others = terms.subList(0, terms.size() - 1);
+        Map<String, ConcurrentSkipListSet<Posting>> tokens = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Posting pivot = new Posting(now, new UUID(Long.MIN_VALUE, Long.MIN_VALUE));
+
+        Map<UUID, EventSuggestion> matches = new LinkedHashMap<>();
+        merge(tokens, set -> set.tailSet(pivot).iterator(), Comparator.naturalOrder(), others, matches, limit);
+        if (matches.size() < limit) {
+            merge(tokens, set -> set.headSet(pivot).descendingIterator(), Comparator.reverseOrder(), others, matches, limit);
+        }
+        return List.copyOf(matches.values());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int tokenCount() {
+        return postings.size();
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+            if (tokens.size() == MAX_TOKENS_PER_EVENT) {
+                break;
+            }
+        }
+        return tokens;
+    }
+
+    // Takes postings of all tokens in the given order until there are enough matches
+    private void merge(Map<String, ConcurrentSkipListSet<Posting>> tokens,
+                       Function<ConcurrentSkipListSet<Posting>, Iterator<Posting>> iterate,
+                       Comparator<Posting> order,
+                       List<String> others,
+                       Map<UUID, EventSuggestion> matches,
+                       int limit) {
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparing((Cursor cursor) -> cursor.head, order));
+        tokens.forEach((token, set) -> {
+            Cursor cursor = new Cursor(token, iterate.apply(set));
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        });
+        while (!cursors.isEmpty() && matches.size() < limit) {
+            Cursor cursor = cursors.poll();
+            Entry entry = entries.get(cursor.head.id());
+            if (entry != null && entry.tokens().contains(cursor.token) && matchesAll(entry, others)) {
+                matches.putIfAbsent(entry.suggestion().id(), entry.suggestion());
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+    }
+
+    private boolean evictPast(Posting incoming, LocalDateTime now) {
+        Posting oldest = byStart.isEmpty() ? null : byStart.first();
+        if (oldest == null || oldest.start() == null || !oldest.start().isBefore(now) || oldest.compareTo(incoming) >= 0) {
+            return false;
+        }
+        remove(oldest.id());
+        return true;
+    }
+
+    private static boolean matchesAll(Entry entry, List<String> terms) {
+        for (String term : terms) {
+            if (entry.tokens().stream().noneMatch(token -> token.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void link(Entry entry) {
+        byStart.add(entry.posting());
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * (length(entry.suggestion().name()) + length(entry.suggestion().venue()));
+        for (String token : entry.tokens()) {
+            ConcurrentSkipListSet<Posting> set = postings.get(token);
+            if (set == null) {
+                set = new ConcurrentSkipListSet<>();
+                postings.put(token, set);
+                bytes += TOKEN_OVERHEAD_BYTES + 2L * token.length();
+            }
+            set.add(entry.posting());
+            bytes += POSTING_BYTES;
+        }
+        estimatedBytes.addAndGet(bytes);
+    }
+
+    private void unlink(Entry entry) {
+        byStart.remove(entry.posting());
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * (length(entry.suggestion().name()) + length(entry.suggestion().venue()));
+        for (String token : entry.tokens()) {
+            ConcurrentSkipListSet<Posting> set = postings.get(token);
+            if (set == null || !set.remove(entry.posting())) {
+                continue;
+            }
+            bytes += POSTING_BYTES;
+            if (set.isEmpty()) {
+                postings.remove(token);
+                bytes += TOKEN_OVERHEAD_BYTES + 2L * token.length();
+            }
+        }
+        estimatedBytes.addAndGet(-bytes);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
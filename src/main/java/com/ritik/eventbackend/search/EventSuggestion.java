@@ -0,0 +1,7 @@
+package com.ritik.eventbackend.search;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record EventSuggestion(UUID id, String name, String venue, LocalDateTime start) {
+}
@@ -0,0 +1,75 @@
+package com.ritik.eventbackend.search;
+
+import com.ritik.eventbackend.entities.enums.EventStatusEnum;
+import com.ritik.eventbackend.messaging.PublishedEventChangedEvent;
+import com.ritik.eventbackend.repositories.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Typeahead over the names and venues of published events, served from memory so that per
+ * keystroke lookups never reach Postgres. The index is loaded on startup and follows event writes
+ * through {@link PublishedEventChangedEvent}. It holds at most a configured number of events, the
+ * ones starting last are loaded first and past events make room for new ones, and its size is
+ * reported as gauges.
+ */
+@Component
+@Slf4j
+public class EventSuggestionIndex {
+
+    private final EventRepository eventRepository;
+    private final EventPrefixIndex index;
+    private final int maxEvents;
+
+    public EventSuggestionIndex(EventRepository eventRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${tickets.events.suggestions.max-events:100000}") int maxEvents) {
+        this.eventRepository = eventRepository;
+        this.maxEvents = maxEvents;
+        this.index = new EventPrefixIndex(maxEvents);
+        Gauge.builder("events.suggestions.indexed", index, EventPrefixIndex::size)
+                .description("Published events in the suggestion index")
+                .register(meterRegistry);
+        Gauge.builder("events.suggestions.tokens", index, EventPrefixIndex::tokenCount)
+                .description("Distinct tokens in the suggestion index")
+                .register(meterRegistry);
+        Gauge.builder("events.suggestions.memory", index, EventPrefixIndex::estimatedBytes)
+                .description("Estimated heap used by the suggestion index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        eventRepository.findSuggestionSourcesByStatus(EventStatusEnum.PUBLISHED, Limit.of(maxEvents))
+                .forEach(this::put);
+        log.info("Loaded {} published events into the suggestion index", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublishedEventChanged(PublishedEventChangedEvent event) {
+        eventRepository.findSuggestionSourceByIdAndStatus(event.eventId(), EventStatusEnum.PUBLISHED)
+                .ifPresentOrElse(this::put, () -> index.remove(event.eventId()));
+    }
+
+    public List<EventSuggestion> suggest(String query, int limit) {
+        return index.suggest(query, limit, LocalDateTime.now());
+    }
+
+    private void put(EventRepository.SuggestionSource source) {
+        EventSuggestion suggestion = new EventSuggestion(source.getId(), source.getName(), source.getVenue(), source.getStart());
+        if (!index.put(suggestion, LocalDateTime.now())) {
+            log.warn("Suggestion index is full at {} events, event {} is not suggested", maxEvents, source.getId());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ritik.eventbackend.services;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -8,14 +9,20 @@ import com.ritik.eventbackend.payload.UpdateEventRequest;
 import com.ritik.eventbackend.entities.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 public interface EventService {
     Event createEvent(UUID organizerId, CreateEventRequest event);
     Page<Event> listEventsForOrganizer(UUID organizerId, Pageable pageable);
+    Window<Event> scrollEventsForOrganizer(UUID organizerId, ScrollPosition position, int size);
     Optional<Event> getEventForOrganizer(UUID organizerId, UUID id);
     Event updateEventForOrganizer(UUID organizerId, UUID id, UpdateEventRequest event);
     void deleteEventForOrganizer(UUID organizerId, UUID id);
+    void checkEventAccessForStaff(UUID userId, UUID id);
     Page<Event> listPublishedEvents(Pageable pageable);
+    Window<Event> scrollPublishedEvents(ScrollPosition position, int size);
     Page<Event> searchPublishedEvents(String query, Pageable pageable);
     Optional<Event> getPublishedEvent(UUID id);
+    Optional<LocalDateTime> getPublishedEventVersion(UUID id);
 }
@@ -0,0 +1,20 @@
+package com.ritik.eventbackend.services;
+
+import com.ritik.eventbackend.payload.dtos.CursorPageResponseDto;
+import com.ritik.eventbackend.payload.dtos.ListPublishedEventResponseDto;
+import com.ritik.eventbackend.payload.dtos.PublishedEventSuggestionDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PublishedEventService {
+    Page<ListPublishedEventResponseDto> listPublishedEvents(Pageable pageable);
+    CursorPageResponseDto<ListPublishedEventResponseDto> scrollPublishedEvents(String cursor, int size);
+    Page<ListPublishedEventResponseDto> searchPublishedEvents(String query, Pageable pageable);
+    Optional<byte[]> getPublishedEventDetailsJson(UUID id);
+    boolean isPublished(UUID id);
+    List<PublishedEventSuggestionDto> suggestPublishedEvents(String query, int limit);
+}
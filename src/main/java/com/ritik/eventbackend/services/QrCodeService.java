@@ -2,10 +2,16 @@ package com.ritik.eventbackend.services;
 
 import com.ritik.eventbackend.entities.QrCode;
 import com.ritik.eventbackend.entities.Ticket;
+import com.ritik.eventbackend.entities.enums.QrCodeFormatEnum;
+import com.ritik.eventbackend.payload.QrCodeSummary;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface QrCodeService {
   QrCode generateQrCode(Ticket ticket);
-  byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId);
+  void renderQrCode(UUID qrCodeId);
+  void resignQrCodes(Collection<UUID> qrCodeIds);
+  QrCodeSummary getQrCodeForUserAndTicket(UUID userId, UUID ticketId);
+  byte[] getQrCodeImage(UUID qrCodeId, QrCodeFormatEnum format, int size);
 }
@@ -0,0 +1,8 @@
+package com.ritik.eventbackend.services;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface ScannerManifestService {
+  void writeManifest(UUID eventId, Long sinceVersion, OutputStream outputStream);
+}
@@ -0,0 +1,13 @@
+package com.ritik.eventbackend.services;
+
+import com.ritik.eventbackend.payload.dtos.ListPublishedEventResponseDto;
+import com.ritik.eventbackend.payload.dtos.TicketTypeAvailabilityDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TicketAvailabilityService {
+    List<TicketTypeAvailabilityDto> getEventAvailability(UUID eventId);
+    ListPublishedEventResponseDto withAvailability(ListPublishedEventResponseDto event);
+    byte[] withAvailability(UUID eventId, byte[] eventDetailsJson);
+}
@@ -6,8 +6,11 @@ import java.util.UUID;
 import com.ritik.eventbackend.entities.Ticket;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 public interface TicketService {
   Page<Ticket> listTicketsForUser(UUID userId, Pageable pageable);
+  Window<Ticket> scrollTicketsForUser(UUID userId, ScrollPosition position, int size);
   Optional<Ticket> getTicketForUser(UUID userId, UUID ticketId);
 }
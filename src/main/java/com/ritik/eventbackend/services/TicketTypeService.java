@@ -2,8 +2,12 @@ package com.ritik.eventbackend.services;
 
 import com.ritik.eventbackend.entities.Ticket;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface TicketTypeService {
-  Ticket purchaseTicket(UUID userId, UUID ticketTypeId);
+  Ticket purchaseTicket(UUID userId, UUID eventId, UUID ticketTypeId);
+  List<Ticket> purchaseTickets(UUID userId, UUID eventId, UUID ticketTypeId, int quantity);
+  List<Ticket> checkout(UUID userId, UUID eventId, Map<UUID, Integer> quantities);
 }
@@ -2,9 +2,15 @@ package com.ritik.eventbackend.services;
 
 import com.ritik.eventbackend.entities.TicketValidation;
 
+import com.ritik.eventbackend.validation.ScanResult;
+import com.ritik.eventbackend.validation.ScannedTicket;
+
+import java.util.List;
 import java.util.UUID;
 
 public interface TicketValidationService {
   TicketValidation validateTicketByQrCode(UUID qrCodeId);
+  TicketValidation validateTicketBySignedPayload(String payload);
   TicketValidation validateTicketManually(UUID ticketId);
+  List<ScanResult> validateTickets(List<ScannedTicket> scans);
 }
@@ -8,18 +8,30 @@ import com.ritik.eventbackend.exceptions.EventNotFoundException;
 import com.ritik.eventbackend.exceptions.EventUpdateException;
 import com.ritik.eventbackend.exceptions.TicketTypeNotFoundException;
 import com.ritik.eventbackend.exceptions.UserNotFoundException;
+import com.ritik.eventbackend.inventory.TicketReservationEngine;
+import com.ritik.eventbackend.messaging.PublishedEventChangedEvent;
 import com.ritik.eventbackend.payload.CreateEventRequest;
 import com.ritik.eventbackend.payload.UpdateEventRequest;
 import com.ritik.eventbackend.payload.UpdateTicketTypeRequest;
 import com.ritik.eventbackend.repositories.EventRepository;
 import com.ritik.eventbackend.repositories.UserRepository;
 import com.ritik.eventbackend.services.EventService;
+import com.ritik.eventbackend.validation.CheckInBroadcaster;
+import com.ritik.eventbackend.validation.CheckInIndex;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -28,8 +40,14 @@ import java.util.stream.Collectors;
 @Service
 public class EventServiceImpl implements EventService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final TicketReservationEngine ticketReservationEngine;
+    private final CheckInIndex checkInIndex;
+    private final CheckInBroadcaster checkInBroadcaster;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     @Transactional
@@ -59,7 +77,9 @@ public class EventServiceImpl implements EventService {
         newEvent.setOrganizer(organizer);
         newEvent.setTicketTypes(newTicketTypes);
 
-        return eventRepository.save(newEvent);
+        Event savedEvent = eventRepository.save(newEvent);
+        applicationEventPublisher.publishEvent(new PublishedEventChangedEvent(savedEvent.getId()));
+        return savedEvent;
     }
 
     @Override
@@ -67,6 +87,11 @@ public class EventServiceImpl implements EventService {
         return eventRepository.findByOrganizerId(organizerId, pageable);
     }
 
+    @Override
+    public Window<Event> scrollEventsForOrganizer(UUID organizerId, ScrollPosition position, int size) {
+        return eventRepository.findByOrganizerId(organizerId, position, NEWEST_FIRST, Limit.of(size));
+    }
+
     @Override
     public Optional<Event> getEventForOrganizer(UUID organizerId, UUID id) {
         return eventRepository.findByIdAndOrganizerId(id, organizerId);
@@ -92,6 +117,11 @@ public class EventServiceImpl implements EventService {
         currentEvent.setEnd(event.getEnd());
         currentEvent.setSalesStart(event.getSalesStart());
         currentEvent.setSalesEnd(event.getSalesEnd());
+        // Ticket type changes alone do not dirty the event, but cached event responses are versioned by updatedAt
+        currentEvent.setUpdatedAt(LocalDateTime.now());
+
+        List<UUID> previousTicketTypeIds = currentEvent.getTicketTypes().stream().map(TicketType::getId).toList();
+        afterCommit(() -> previousTicketTypeIds.forEach(ticketReservationEngine::evict));
 
         Set<UUID> requestTicketTypeIds = event.getTicketTypes()
                 .stream()
@@ -129,13 +159,32 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        return eventRepository.save(currentEvent);
+        Event savedEvent = eventRepository.save(currentEvent);
+        applicationEventPublisher.publishEvent(new PublishedEventChangedEvent(savedEvent.getId()));
+        return savedEvent;
     }
 
     @Override
     @Transactional
     public void deleteEventForOrganizer(UUID organizerId, UUID id) {
-        getEventForOrganizer(organizerId, id).ifPresent(eventRepository::delete);
+        getEventForOrganizer(organizerId, id).ifPresent(event -> {
+            List<UUID> ticketTypeIds = event.getTicketTypes().stream().map(TicketType::getId).toList();
+            afterCommit(() -> {
+                ticketTypeIds.forEach(ticketReservationEngine::evict);
+                checkInIndex.evictEvent(event.getId());
+                checkInBroadcaster.evictEvent(event.getId());
+            });
+            eventRepository.delete(event);
+            applicationEventPublisher.publishEvent(new PublishedEventChangedEvent(event.getId()));
+        });
+    }
+
+    // Door staff only see the events they are assigned to, anyone else gets the same answer as for a missing event
+    @Override
+    public void checkEventAccessForStaff(UUID userId, UUID id) {
+        if (!eventRepository.existsByIdAndOrganizerOrStaff(id, userId)) {
+            throw new EventNotFoundException("Event with id: %s not found".formatted(id));
+        }
     }
 
     @Override
@@ -143,6 +192,11 @@ public class EventServiceImpl implements EventService {
         return eventRepository.findByStatus(EventStatusEnum.PUBLISHED, pageable);
     }
 
+    @Override
+    public Window<Event> scrollPublishedEvents(ScrollPosition position, int size) {
+        return eventRepository.findByStatus(EventStatusEnum.PUBLISHED, position, NEWEST_FIRST, Limit.of(size));
+    }
+
     @Override
     public Page<Event> searchPublishedEvents(String query, Pageable pageable) {
         return eventRepository.searchEvents(query, pageable);
@@ -152,4 +206,23 @@ public class EventServiceImpl implements EventService {
     public Optional<Event> getPublishedEvent(UUID id) {
         return eventRepository.findByIdAndStatus(id, EventStatusEnum.PUBLISHED);
     }
+
+    @Override
+    public Optional<LocalDateTime> getPublishedEventVersion(UUID id) {
+        return eventRepository.findUpdatedAtByIdAndStatus(id, EventStatusEnum.PUBLISHED);
+    }
+
+    // Evicting before commit would let a concurrent reader rebuild its state from the old rows
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,118 @@
+package com.ritik.eventbackend.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ritik.eventbackend.config.CacheConfig;
+import com.ritik.eventbackend.exceptions.EventTicketException;
+import com.ritik.eventbackend.mappers.EventMapper;
+import com.ritik.eventbackend.messaging.PublishedEventChangedEvent;
+import com.ritik.eventbackend.payload.PageCursor;
+import com.ritik.eventbackend.payload.PublishedEventDetailsJson;
+import com.ritik.eventbackend.payload.dtos.CursorPageResponseDto;
+import com.ritik.eventbackend.payload.dtos.GetPublishedEventDetailsResponseDto;
+import com.ritik.eventbackend.payload.dtos.ListPublishedEventResponseDto;
+import com.ritik.eventbackend.payload.dtos.PublishedEventSuggestionDto;
+import com.ritik.eventbackend.search.EventSuggestionIndex;
+import com.ritik.eventbackend.services.EventService;
+import com.ritik.eventbackend.services.PublishedEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read side of the public event pages. Responses are mapped to DTOs inside a read-only
+ * transaction and cached as DTOs, so cache hits never touch lazy associations. Event details are
+ * cached as serialized JSON and only served while the event's updatedAt still matches, which costs
+ * one primary key lookup per request. Any write to an event evicts its details and every cached
+ * page once the write has committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublishedEventServiceImpl implements PublishedEventService {
+
+    private final EventService eventService;
+    private final EventMapper eventMapper;
+    private final EventSuggestionIndex eventSuggestionIndex;
+    private final Cache<UUID, PublishedEventDetailsJson> publishedEventDetailsJsonCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PUBLISHED_EVENT_PAGES, key = "#pageable")
+    public Page<ListPublishedEventResponseDto> listPublishedEvents(Pageable pageable) {
+        return eventService.listPublishedEvents(pageable)
+                .map(eventMapper::toListPublishedEventResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<ListPublishedEventResponseDto> scrollPublishedEvents(String cursor, int size) {
+        return PageCursor.page(eventService.scrollPublishedEvents(PageCursor.positionOf(cursor), size),
+                eventMapper::toListPublishedEventResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ListPublishedEventResponseDto> searchPublishedEvents(String query, Pageable pageable) {
+        return eventService.searchPublishedEvents(query, pageable)
+                .map(eventMapper::toListPublishedEventResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getPublishedEventDetailsJson(UUID id) {
+        Optional<LocalDateTime> version = eventService.getPublishedEventVersion(id);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        PublishedEventDetailsJson cached = publishedEventDetailsJsonCache.getIfPresent(id);
+        if (cached != null && cached.updatedAt().equals(version.get())) {
+            return Optional.of(cached.body());
+        }
+
+        // Versioned by the loaded event, so a load that raced a write is never served after that write
+        return eventService.getPublishedEvent(id).map(event -> {
+            PublishedEventDetailsJson details = new PublishedEventDetailsJson(event.getUpdatedAt(),
+                    serialize(eventMapper.toGetPublishedEventDetailsResponseDto(event)));
+            publishedEventDetailsJsonCache.put(id, details);
+            return details.body();
+        });
+    }
+
+    @Override
+    public boolean isPublished(UUID id) {
+        return eventService.getPublishedEventVersion(id).isPresent();
+    }
+
+    @Override
+    public List<PublishedEventSuggestionDto> suggestPublishedEvents(String query, int limit) {
+        return eventSuggestionIndex.suggest(query, limit).stream()
+                .map(s -> new PublishedEventSuggestionDto(s.id(), s.name(), s.venue(), s.start()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_EVENT_PAGES, allEntries = true)
+    public void onPublishedEventChanged(PublishedEventChangedEvent event) {
+        publishedEventDetailsJsonCache.invalidate(event.eventId());
+    }
+
+    private byte[] serialize(GetPublishedEventDetailsResponseDto details) {
+        try {
+            return objectMapper.writeValueAsBytes(details);
+        } catch (JsonProcessingException ex) {
+            throw new EventTicketException("Failed to serialize event with ID %s".formatted(details.getId()), ex);
+        }
+    }
+}
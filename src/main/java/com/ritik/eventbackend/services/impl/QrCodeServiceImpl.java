@@ -1,26 +1,40 @@
 package com.ritik.eventbackend.services.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import com.ritik.eventbackend.config.QrSigningProperties;
+import com.ritik.eventbackend.entities.Event;
 import com.ritik.eventbackend.entities.QrCode;
 import com.ritik.eventbackend.entities.Ticket;
+import com.ritik.eventbackend.entities.enums.QrCodeFormatEnum;
 import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+import com.ritik.eventbackend.entities.enums.QrCodeStorageModeEnum;
 import com.ritik.eventbackend.exceptions.QrCodeGenerationException;
 import com.ritik.eventbackend.exceptions.QrCodeNotFoundException;
+import com.ritik.eventbackend.exceptions.QrCodeNotReadyException;
+import com.ritik.eventbackend.messaging.QrCodeRequestedEvent;
+import com.ritik.eventbackend.payload.QrCodeSummary;
+import com.ritik.eventbackend.payload.QrCodeVariant;
 import com.ritik.eventbackend.repositories.QrCodeRepository;
 import com.ritik.eventbackend.services.QrCodeService;
+import com.ritik.eventbackend.util.QrPngEncoder;
+import com.ritik.eventbackend.util.QrSvgEncoder;
+import com.ritik.eventbackend.validation.TicketPayloadCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -33,53 +47,151 @@ public class QrCodeServiceImpl implements QrCodeService {
 
     private final QrCodeRepository qrCodeRepository;
     private final QRCodeWriter qrCodeWriter;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Cache<QrCodeVariant, byte[]> qrCodeImageCache;
+    private final TicketPayloadCodec ticketPayloadCodec;
+    private final QrSigningProperties qrSigningProperties;
+
+    @Value("${tickets.qr.storage:BINARY}")
+    private QrCodeStorageModeEnum storageMode;
 
     @Override
     public QrCode generateQrCode(Ticket ticket) {
-        try {
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setTicket(ticket);
+        Event event = ticket.getTicketType().getEvent();
+        qrCode.setPayload(signPayload(qrCode.getId(), ticket.getId(), event.getId(), event.getStart(), event.getEnd()));
 
-            UUID uuid = UUID.randomUUID();
-            String qrCodeData = generateQrCodeImage(uuid);
-
-            QrCode qrCode = new QrCode();
-            qrCode.setId(uuid);
+        // On demand the id is the whole payload, the image is rendered when the ticket holder asks for it
+        if (QrCodeStorageModeEnum.ON_DEMAND.equals(storageMode)) {
             qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
-            qrCode.setValue(qrCodeData);
-            qrCode.setTicket(ticket);
+            return qrCodeRepository.save(qrCode);
+        }
 
-            return qrCodeRepository.saveAndFlush(qrCode);
-        } catch(IndexOutOfBoundsException | WriterException | IOException ex) {
+        qrCode.setStatus(QrCodeStatusEnum.PENDING);
+        QrCode savedQrCode = qrCodeRepository.save(qrCode);
+        applicationEventPublisher.publishEvent(new QrCodeRequestedEvent(savedQrCode.getId()));
+        return savedQrCode;
+    }
+
+    @Override
+    public void renderQrCode(UUID qrCodeId) {
+        try {
+            byte[] imageBytes = generateQrCodeImage(contentOf(qrCodeId));
+            if (QrCodeStorageModeEnum.BINARY.equals(storageMode)) {
+                qrCodeRepository.updateImageAndStatus(qrCodeId, imageBytes, QrCodeStatusEnum.PENDING, QrCodeStatusEnum.ACTIVE);
+            } else {
+                String qrCodeData = Base64.getEncoder().encodeToString(imageBytes);
+                qrCodeRepository.updateValueAndStatus(qrCodeId, qrCodeData, QrCodeStatusEnum.PENDING, QrCodeStatusEnum.ACTIVE);
+            }
+        } catch(IndexOutOfBoundsException | WriterException ex) {
             throw new QrCodeGenerationException("Failed to generate QR Code", ex);
         }
     }
 
-    private String generateQrCodeImage(UUID uuid) throws WriterException, IOException {
+    // Codes whose payload can no longer be verified get a fresh one, and a new image stored the way the storage mode stores it
+    @Override
+    public void resignQrCodes(Collection<UUID> qrCodeIds) {
+        for (QrCodeRepository.QrCodeSigningSource source : qrCodeRepository.findSigningSourcesByIdIn(qrCodeIds)) {
+            String payload = signPayload(source.getId(), source.getTicketId(), source.getEventId(),
+                    source.getEventStart(), source.getEventEnd());
+            try {
+                byte[] image = QrCodeStorageModeEnum.ON_DEMAND.equals(storageMode) ? null : generateQrCodeImage(payload);
+                if (QrCodeStorageModeEnum.BASE64.equals(storageMode)) {
+                    qrCodeRepository.updatePayloadAndImage(source.getId(), payload, null, Base64.getEncoder().encodeToString(image));
+                } else {
+                    qrCodeRepository.updatePayloadAndImage(source.getId(), payload, image, null);
+                }
+            } catch (IndexOutOfBoundsException | WriterException ex) {
+                throw new QrCodeGenerationException("Failed to generate QR Code", ex);
+            }
+        }
+        Set<UUID> resigned = Set.copyOf(qrCodeIds);
+        qrCodeImageCache.asMap().keySet().removeIf(variant -> resigned.contains(variant.qrCodeId()));
+    }
+
+    private String signPayload(UUID qrCodeId, UUID ticketId, UUID eventId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime validUntil = end != null ? end : start;
+        Instant expiresAt = validUntil != null
+                ? validUntil.atZone(ZoneId.systemDefault()).toInstant().plus(qrSigningProperties.gracePeriod())
+                : Instant.now().plus(qrSigningProperties.defaultValidity());
+        return ticketPayloadCodec.sign(qrCodeId, ticketId, eventId, expiresAt.getEpochSecond());
+    }
+
+    // Codes created before signed payloads encode their own id
+    private String contentOf(UUID qrCodeId) {
+        return qrCodeRepository.findPayloadById(qrCodeId).orElseGet(qrCodeId::toString);
+    }
+
+    private byte[] generateQrCodeImage(String content) throws WriterException {
         BitMatrix bitMatrix = qrCodeWriter.encode(
-                uuid.toString(),
+                content,
                 BarcodeFormat.QR_CODE,
                 QR_WIDTH,
                 QR_HEIGHT
         );
 
-        BufferedImage qrCodeImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
+        return QrPngEncoder.encode(bitMatrix);
+    }
 
-        try(ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-            ImageIO.write(qrCodeImage, "png", os);
-            byte[] imageBytes = os.toByteArray();
-            return Base64.getEncoder().encodeToString(imageBytes);
+    private byte[] renderImage(QrCodeVariant variant) {
+        try {
+            String content = contentOf(variant.qrCodeId());
+            if (QrCodeFormatEnum.SVG.equals(variant.format())) {
+                // Zero dimensions give one unit per module, the SVG is scaled by the client
+                BitMatrix bitMatrix = qrCodeWriter.encode(content, BarcodeFormat.QR_CODE, 0, 0);
+                return QrSvgEncoder.encode(bitMatrix, variant.size());
+            }
+            BitMatrix bitMatrix = qrCodeWriter.encode(
+                    content,
+                    BarcodeFormat.QR_CODE,
+                    variant.size(),
+                    variant.size()
+            );
+            return QrPngEncoder.encode(bitMatrix);
+        } catch(IndexOutOfBoundsException | WriterException ex) {
+            throw new QrCodeGenerationException("Failed to generate QR Code", ex);
         }
+    }
 
+    @Override
+    public QrCodeSummary getQrCodeForUserAndTicket(UUID userId, UUID ticketId) {
+        QrCodeRepository.QrCodeSummary qrCode = qrCodeRepository.findSummaryByTicketIdAndPurchaserId(ticketId, userId)
+                .orElseThrow(QrCodeNotFoundException::new);
+        if (QrCodeStatusEnum.PENDING.equals(qrCode.getStatus())) {
+            throw new QrCodeNotReadyException("QR Code for ticket ID %s is still being generated".formatted(ticketId));
+        }
+        return new QrCodeSummary(qrCode.getId(), qrCode.getStatus(), qrCode.getPayload());
     }
 
     @Override
-    public byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId) {
-        QrCode qrCode = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId).orElseThrow(QrCodeNotFoundException::new);
+    public byte[] getQrCodeImage(UUID qrCodeId, QrCodeFormatEnum format, int size) {
+        // Nothing is stored in on demand mode, so even the default image is only a cache lookup
+        if (QrCodeFormatEnum.PNG.equals(format) && size == QR_WIDTH && !QrCodeStorageModeEnum.ON_DEMAND.equals(storageMode)) {
+            return getStoredQrCodeImage(qrCodeId);
+        }
+        return qrCodeImageCache.get(new QrCodeVariant(qrCodeId, format, size), this::renderImage);
+    }
+
+    private byte[] getStoredQrCodeImage(UUID qrCodeId) {
+        QrCodeRepository.QrCodeImage qrCode = qrCodeRepository.findImageById(qrCodeId)
+                .orElseThrow(QrCodeNotFoundException::new);
+
+        if (qrCode.getImage() != null) {
+            return qrCode.getImage();
+        }
+
+        if (qrCode.getValue() == null) {
+            return qrCodeImageCache.get(new QrCodeVariant(qrCode.getId(), QrCodeFormatEnum.PNG, QR_WIDTH), this::renderImage);
+        }
 
+        // Rows written before binary storage that the migration job has not reached yet
         try {
             return Base64.getDecoder().decode(qrCode.getValue());
         } catch (IllegalArgumentException ex) {
-            log.error("Invalid base64 QR Code for ticket ID: {}", ticketId, ex);
+            log.error("Invalid base64 QR Code with ID: {}", qrCodeId, ex);
             throw new QrCodeGenerationException();
         }
     }
-}
\ No newline at end of file
+}
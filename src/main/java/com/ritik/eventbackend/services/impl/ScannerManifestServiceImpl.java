@@ -0,0 +1,100 @@
+package com.ritik.eventbackend.services.impl;
+
+import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+import com.ritik.eventbackend.services.ScannerManifestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Streams the scanner manifest of an event straight from a server-side cursor. The manifest is the
+ * magic {@code ETM1}, the manifest version (epoch millis, pass it back as {@code since} to get a
+ * delta) and then one 33-byte record per QR code, sorted by QR id: QR id, ticket id, and 1 if the
+ * code is active or 0 if it was revoked. A full manifest only contains active codes. A delta
+ * contains every code whose status changed after {@code since} minus an overlap window, which
+ * covers transactions that were still in flight when the previous manifest was cut, so scanners
+ * must apply records idempotently.
+ */
+@Service
+@Slf4j
+public class ScannerManifestServiceImpl implements ScannerManifestService {
+
+    private static final byte[] MAGIC = "ETM1".getBytes(StandardCharsets.US_ASCII);
+    private static final int FETCH_SIZE = 5000;
+    private static final String CURRENT_VERSION_QUERY = "SELECT (EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT";
+    private static final String MANIFEST_QUERY = "SELECT q.id, q.ticket_id, q.status FROM qr_codes q " +
+            "JOIN tickets t ON t.id = q.ticket_id " +
+            "JOIN ticket_types tt ON tt.id = t.ticket_type_id " +
+            "WHERE tt.event_id = ? ";
+    private static final String FULL_MANIFEST_QUERY = MANIFEST_QUERY + "AND q.status = 'ACTIVE' ORDER BY q.id";
+    private static final String DELTA_MANIFEST_QUERY = MANIFEST_QUERY + "AND q.manifest_version > ? ORDER BY q.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long overlapMillis;
+
+    public ScannerManifestServiceImpl(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${tickets.manifest.delta-overlap:PT10S}") Duration overlap) {
+        this.jdbcTemplate = jdbcTemplate;
+        // The PostgreSQL driver only honours the fetch size inside a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.overlapMillis = overlap.toMillis();
+    }
+
+    @Override
+    public void writeManifest(UUID eventId, Long sinceVersion, OutputStream outputStream) {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, 64 * 1024));
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                long version = jdbcTemplate.queryForObject(CURRENT_VERSION_QUERY, Long.class);
+                out.write(MAGIC);
+                out.writeLong(version);
+
+                long[] records = new long[1];
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            sinceVersion == null ? FULL_MANIFEST_QUERY : DELTA_MANIFEST_QUERY);
+                    statement.setFetchSize(FETCH_SIZE);
+                    statement.setObject(1, eventId);
+                    if (sinceVersion != null) {
+                        statement.setLong(2, sinceVersion - overlapMillis);
+                    }
+                    return statement;
+                }, resultSet -> {
+                    try {
+                        writeUuid(out, resultSet.getObject(1, UUID.class));
+                        writeUuid(out, resultSet.getObject(2, UUID.class));
+                        out.writeByte(QrCodeStatusEnum.ACTIVE.name().equals(resultSet.getString(3)) ? 1 : 0);
+                        records[0]++;
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                out.flush();
+                log.debug("Wrote scanner manifest for event {} with {} records", eventId, records[0]);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,78 @@
+package com.ritik.eventbackend.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritik.eventbackend.exceptions.EventTicketException;
+import com.ritik.eventbackend.inventory.TicketAvailability;
+import com.ritik.eventbackend.inventory.TicketTypeAvailability;
+import com.ritik.eventbackend.payload.dtos.ListPublishedEventResponseDto;
+import com.ritik.eventbackend.payload.dtos.TicketTypeAvailabilityDto;
+import com.ritik.eventbackend.services.TicketAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adds live availability to published event responses after they come out of their caches, so
+ * the cached representations stay valid while tickets sell.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketAvailabilityServiceImpl implements TicketAvailabilityService {
+
+    private static final byte[] AVAILABILITY_PROPERTY = ",\"availability\":".getBytes(StandardCharsets.UTF_8);
+
+    private final TicketAvailability ticketAvailability;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<TicketTypeAvailabilityDto> getEventAvailability(UUID eventId) {
+        return ticketAvailability.forEvent(eventId).stream()
+                .map(availability -> new TicketTypeAvailabilityDto(availability.ticketTypeId(), availability.remaining(),
+                        availability.soldOut()))
+                .toList();
+    }
+
+    // Listings may come from the page cache, so the cached DTO is copied instead of changed. An
+    // event without ticket types has nothing on sale rather than being sold out, so it gets no availability.
+    @Override
+    public ListPublishedEventResponseDto withAvailability(ListPublishedEventResponseDto event) {
+        List<TicketTypeAvailability> availability = ticketAvailability.forEvent(event.getId());
+        if (availability.isEmpty()) {
+            return new ListPublishedEventResponseDto(event.getId(), event.getName(), event.getStart(), event.getEnd(),
+                    event.getVenue(), null, null);
+        }
+        long remaining = availability.stream()
+                .mapToLong(TicketTypeAvailability::remaining)
+                .sum();
+        return new ListPublishedEventResponseDto(event.getId(), event.getName(), event.getStart(), event.getEnd(),
+                event.getVenue(), remaining, remaining == 0);
+    }
+
+    // The cached body is a JSON object without availability, it is appended as its last property
+    @Override
+    public byte[] withAvailability(UUID eventId, byte[] eventDetailsJson) {
+        int closingBrace = eventDetailsJson.length - 1;
+        if (closingBrace < 1 || eventDetailsJson[closingBrace] != '}') {
+            throw new EventTicketException("Cached details of event with ID %s are not a JSON object".formatted(eventId));
+        }
+        byte[] availability = serialize(getEventAvailability(eventId));
+        byte[] body = Arrays.copyOf(eventDetailsJson, closingBrace + AVAILABILITY_PROPERTY.length + availability.length + 1);
+        System.arraycopy(AVAILABILITY_PROPERTY, 0, body, closingBrace, AVAILABILITY_PROPERTY.length);
+        System.arraycopy(availability, 0, body, closingBrace + AVAILABILITY_PROPERTY.length, availability.length);
+        body[body.length - 1] = '}';
+        return body;
+    }
+
+    private byte[] serialize(List<TicketTypeAvailabilityDto> availability) {
+        try {
+            return objectMapper.writeValueAsBytes(availability);
+        } catch (JsonProcessingException ex) {
+            throw new EventTicketException("Failed to serialize ticket availability", ex);
+        }
+    }
+}
@@ -4,8 +4,12 @@ import com.ritik.eventbackend.entities.Ticket;
 import com.ritik.eventbackend.repositories.TicketRepository;
 import com.ritik.eventbackend.services.TicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -15,6 +19,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TicketServiceImpl implements TicketService {
 
+  private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
   private final TicketRepository ticketRepository;
 
   @Override
@@ -22,6 +28,11 @@ public class TicketServiceImpl implements TicketService {
     return ticketRepository.findByPurchaserId(userId, pageable);
   }
 
+  @Override
+  public Window<Ticket> scrollTicketsForUser(UUID userId, ScrollPosition position, int size) {
+    return ticketRepository.findByPurchaserId(userId, position, NEWEST_FIRST, Limit.of(size));
+  }
+
   @Override
   public Optional<Ticket> getTicketForUser(UUID userId, UUID ticketId) {
     return ticketRepository.findByIdAndPurchaserId(ticketId, userId);
@@ -1,54 +1,52 @@
 package com.ritik.eventbackend.services.impl;
 
 import com.ritik.eventbackend.entities.Ticket;
-import com.ritik.eventbackend.entities.TicketType;
-import com.ritik.eventbackend.entities.User;
-import com.ritik.eventbackend.entities.enums.TicketStatusEnum;
-import com.ritik.eventbackend.exceptions.TicketTypeNotFoundException;
+import com.ritik.eventbackend.entities.enums.EventStatusEnum;
+import com.ritik.eventbackend.exceptions.TicketTypeNotOnSaleException;
 import com.ritik.eventbackend.exceptions.TicketsSoldOutException;
-import com.ritik.eventbackend.exceptions.UserNotFoundException;
-import com.ritik.eventbackend.repositories.TicketRepository;
+import com.ritik.eventbackend.inventory.TicketPurchaseBatcher;
+import com.ritik.eventbackend.inventory.TicketReservationEngine;
 import com.ritik.eventbackend.repositories.TicketTypeRepository;
-import com.ritik.eventbackend.repositories.UserRepository;
-import com.ritik.eventbackend.services.QrCodeService;
 import com.ritik.eventbackend.services.TicketTypeService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class TicketTypeServiceImpl implements TicketTypeService {
 
     private final TicketTypeRepository ticketTypeRepository;
-    private final TicketRepository ticketRepository;
-    private final UserRepository userRepository;
-    private final QrCodeService qrCodeService;
+    private final TicketReservationEngine ticketReservationEngine;
+    private final TicketPurchaseBatcher ticketPurchaseBatcher;
 
     @Override
-    @Transactional
-    public Ticket purchaseTicket(UUID userId, UUID ticketTypeId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User with ID %s was not found".formatted(userId)));
-
-        TicketType ticketType = ticketTypeRepository.findByIdWithLock(ticketTypeId).orElseThrow(() -> new TicketTypeNotFoundException("Ticket type with ID %s was not found".formatted(ticketTypeId)));
+    public Ticket purchaseTicket(UUID userId, UUID eventId, UUID ticketTypeId) {
+        return purchaseTickets(userId, eventId, ticketTypeId, 1).get(0);
+    }
 
-        int purchasedTickets = ticketRepository.countByTicketTypeId(ticketType.getId());
-        Integer totalAvailable = ticketType.getTotalAvailable();
+    @Override
+    public List<Ticket> purchaseTickets(UUID userId, UUID eventId, UUID ticketTypeId, int quantity) {
+        return checkout(userId, eventId, Map.of(ticketTypeId, quantity));
+    }
 
-        if(purchasedTickets + 1 > totalAvailable) {
+    @Override
+    public List<Ticket> checkout(UUID userId, UUID eventId, Map<UUID, Integer> quantities) {
+        requireOnSale(eventId, quantities.keySet());
+        // Reservations are always taken in ticket type id order so that overlapping carts cannot deadlock
+        SortedMap<UUID, Integer> orderedQuantities = new TreeMap<>(quantities);
+        if (!ticketReservationEngine.tryReserveAll(orderedQuantities)) {
             throw new TicketsSoldOutException();
         }
+        return ticketPurchaseBatcher.purchase(userId, orderedQuantities);
+    }
 
-        Ticket ticket = new Ticket();
-        ticket.setStatus(TicketStatusEnum.PURCHASED);
-        ticket.setTicketType(ticketType);
-        ticket.setPurchaser(user);
-
-        Ticket savedTicket = ticketRepository.save(ticket);
-        qrCodeService.generateQrCode(savedTicket);
-        return ticketRepository.save(ticket);
-
+    private void requireOnSale(UUID eventId, Set<UUID> ticketTypeIds) {
+        long onSale = ticketTypeRepository.countOnSale(eventId, ticketTypeIds, EventStatusEnum.PUBLISHED, LocalDateTime.now());
+        if (onSale != ticketTypeIds.size()) {
+            throw new TicketTypeNotOnSaleException("Ticket types %s are not on sale for event %s".formatted(ticketTypeIds, eventId));
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,59 +1,205 @@
 package com.ritik.eventbackend.services.impl;
 
-import com.ritik.eventbackend.entities.QrCode;
 import com.ritik.eventbackend.entities.Ticket;
 import com.ritik.eventbackend.entities.TicketValidation;
 import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
 import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
 import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+import com.ritik.eventbackend.exceptions.InvalidQrCodePayloadException;
 import com.ritik.eventbackend.exceptions.QrCodeNotFoundException;
-import com.ritik.eventbackend.exceptions.TicketTypeNotFoundException;
+import com.ritik.eventbackend.exceptions.TicketNotFoundException;
 import com.ritik.eventbackend.repositories.QrCodeRepository;
 import com.ritik.eventbackend.repositories.TicketRepository;
-import com.ritik.eventbackend.repositories.TicketValidationRepository;
 import com.ritik.eventbackend.services.TicketValidationService;
-import jakarta.transaction.Transactional;
+import com.ritik.eventbackend.validation.CheckInBroadcaster;
+import com.ritik.eventbackend.validation.CheckInDecision;
+import com.ritik.eventbackend.validation.CheckInEvent;
+import com.ritik.eventbackend.validation.CheckInIndex;
+import com.ritik.eventbackend.validation.CheckInSlot;
+import com.ritik.eventbackend.validation.PendingValidation;
+import com.ritik.eventbackend.validation.ScanResult;
+import com.ritik.eventbackend.validation.ScannedTicket;
+import com.ritik.eventbackend.validation.SignedTicketPayload;
+import com.ritik.eventbackend.validation.TicketPayloadCodec;
+import com.ritik.eventbackend.validation.TicketValidationBatchWriter;
+import com.ritik.eventbackend.validation.TicketValidationWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class TicketValidationServiceImpl implements TicketValidationService {
 
-    private final QrCodeRepository qrCodeRepository;
-    private final TicketValidationRepository ticketValidationRepository;
+    private final TicketPayloadCodec ticketPayloadCodec;
+    private final CheckInIndex checkInIndex;
+    private final TicketValidationWriter ticketValidationWriter;
     private final TicketRepository ticketRepository;
+    private final QrCodeRepository qrCodeRepository;
+    private final TicketValidationBatchWriter ticketValidationBatchWriter;
+    private final CheckInBroadcaster checkInBroadcaster;
 
     @Override
     public TicketValidation validateTicketByQrCode(UUID qrCodeId) {
-        QrCode qrCode = qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE).orElseThrow(() -> new QrCodeNotFoundException("QR Code with ID %s not found".formatted(qrCodeId)));
+        CheckInDecision decision = checkInIndex.findByQrCode(qrCodeId)
+                .map(checkInIndex::admit)
+                .orElseThrow(() -> new QrCodeNotFoundException("QR Code with ID %s not found".formatted(qrCodeId)));
+        return record(decision.ticketId(), decision.eventId(), decision.status(), TicketValidationMethod.QR_SCAN, false);
+    }
 
-        Ticket ticket = qrCode.getTicket();
-        return  validateTicket(ticket, TicketValidationMethod.QR_SCAN);
+    @Override
+    public TicketValidation validateTicketBySignedPayload(String payload) {
+        SignedTicketPayload signedTicketPayload = ticketPayloadCodec.verify(payload);
+        // Only active QR codes are indexed, so a payload of an expired or revoked code is not found
+        CheckInSlot slot = checkInIndex.findByQrCode(signedTicketPayload.qrCodeId())
+                .orElseThrow(() -> new QrCodeNotFoundException("QR Code with ID %s not found".formatted(signedTicketPayload.qrCodeId())));
+        if (!slot.ticketId().equals(signedTicketPayload.ticketId()) || !slot.eventId().equals(signedTicketPayload.eventId())) {
+            throw new InvalidQrCodePayloadException("QR payload does not match ticket ID %s".formatted(slot.ticketId()));
+        }
+        CheckInDecision decision = checkInIndex.admit(slot);
+        return record(decision.ticketId(), decision.eventId(), decision.status(), TicketValidationMethod.QR_SCAN, false);
     }
 
     @Override
     public TicketValidation validateTicketManually(UUID ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId).orElseThrow(TicketTypeNotFoundException::new);
-        return validateTicket(ticket, TicketValidationMethod.MANUAL);
+        Optional<CheckInDecision> indexed = checkInIndex.findIfIndexed(ticketId).map(checkInIndex::admit);
+        if (indexed.isPresent()) {
+            return record(ticketId, indexed.get().eventId(), indexed.get().status(), TicketValidationMethod.MANUAL, false);
+        }
+
+        // Events nobody is scanning at this instance are decided by a single conditional update
+        boolean claimed = ticketRepository.markFirstValidated(ticketId, LocalDateTime.now()) == 1;
+        UUID eventId = ticketRepository.findEventIdById(ticketId).orElseThrow(TicketNotFoundException::new);
+        return record(ticketId, eventId, claimed ? TicketValidationStatusEnum.VALID : TicketValidationStatusEnum.INVALID,
+                TicketValidationMethod.MANUAL, claimed);
+    }
+
+    @Override
+    public List<ScanResult> validateTickets(List<ScannedTicket> scans) {
+        int size = scans.size();
+        UUID[] ticketIds = new UUID[size];
+        UUID[] scannedQrCodeIds = new UUID[size];
+        SignedTicketPayload[] payloads = new SignedTicketPayload[size];
+        String[] errors = new String[size];
+
+        // Signatures are checked in memory, QR ids and tickets are resolved with one query each
+        Set<UUID> qrCodeIds = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            ScannedTicket scan = scans.get(i);
+            if (TicketValidationMethod.MANUAL.equals(scan.method())) {
+                ticketIds[i] = scan.id();
+            } else if (scan.payload() != null) {
+                try {
+                    payloads[i] = ticketPayloadCodec.verify(scan.payload());
+                    scannedQrCodeIds[i] = payloads[i].qrCodeId();
+                } catch (InvalidQrCodePayloadException ex) {
+                    errors[i] = ex.getMessage();
+                }
+            } else {
+                scannedQrCodeIds[i] = scan.id();
+            }
+            if (scannedQrCodeIds[i] != null) {
+                qrCodeIds.add(scannedQrCodeIds[i]);
+            }
+        }
+
+        // Only active QR codes resolve, so payloads of expired or revoked codes are not found
+        Map<UUID, UUID> ticketIdsByQrCodeId = qrCodeIds.isEmpty() ? Map.of() : qrCodeRepository
+                .findTicketIdsByIdInAndStatus(qrCodeIds, QrCodeStatusEnum.ACTIVE).stream()
+                .collect(Collectors.toMap(QrCodeRepository.QrCodeTicket::getId, QrCodeRepository.QrCodeTicket::getTicketId));
+        for (int i = 0; i < size; i++) {
+            if (scannedQrCodeIds[i] == null || !ticketIdsByQrCodeId.containsKey(scannedQrCodeIds[i])) {
+                continue;
+            }
+            UUID ticketId = ticketIdsByQrCodeId.get(scannedQrCodeIds[i]);
+            if (payloads[i] != null && !payloads[i].ticketId().equals(ticketId)) {
+                errors[i] = "QR payload does not match ticket ID %s".formatted(ticketId);
+            } else {
+                ticketIds[i] = ticketId;
+            }
+        }
+
+        Set<UUID> resolvedTicketIds = Arrays.stream(ticketIds).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<UUID, TicketRepository.ValidationState> statesByTicketId = resolvedTicketIds.isEmpty() ? Map.of() : ticketRepository
+                .findValidationStatesByIdIn(resolvedTicketIds).stream()
+                .collect(Collectors.toMap(TicketRepository.ValidationState::getId, Function.identity()));
+
+        // Earliest scan wins, ties go to the scan that came first in the upload
+        Integer[] order = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparing((Integer i) -> scans.get(i).scannedAt()).thenComparing(i -> i));
+
+        Set<UUID> seen = new HashSet<>();
+        PendingValidation[] decisions = new PendingValidation[size];
+        for (int i : order) {
+            UUID ticketId = ticketIds[i];
+            if (errors[i] != null) {
+                continue;
+            }
+            if (ticketId == null || !statesByTicketId.containsKey(ticketId)) {
+                errors[i] = TicketValidationMethod.MANUAL.equals(scans.get(i).method()) ? "Ticket not found" : "QR code not found";
+                continue;
+            }
+            TicketRepository.ValidationState state = statesByTicketId.get(ticketId);
+            if (payloads[i] != null && !payloads[i].eventId().equals(state.getEventId())) {
+                errors[i] = "QR payload does not match ticket ID %s".formatted(ticketId);
+                continue;
+            }
+
+            // The batch writer claims first_validated_at, so a ticket is only admitted once the claim commits
+            boolean admitted = !seen.add(ticketId) || state.getFirstValidatedAt() != null || checkInIndex.isAdmitted(ticketId);
+            TicketValidationStatusEnum status = admitted
+                    ? TicketValidationStatusEnum.INVALID
+                    : TicketValidationStatusEnum.VALID;
+            TicketValidationMethod method = scans.get(i).method() != null ? scans.get(i).method() : TicketValidationMethod.QR_SCAN;
+            decisions[i] = new PendingValidation(UUID.randomUUID(), ticketId, status, method, scans.get(i).scannedAt(), false);
+        }
+
+        List<PendingValidation> pending = Arrays.stream(decisions).filter(Objects::nonNull).toList();
+        Map<UUID, TicketValidationStatusEnum> written = pending.isEmpty() ? Map.of() : ticketValidationBatchWriter.write(pending).stream()
+                .collect(Collectors.toMap(PendingValidation::id, PendingValidation::status));
+        // Claimed by this batch or, if the claim conflicted, by someone else, the ticket is admitted either way
+        pending.stream()
+                .filter(validation -> TicketValidationStatusEnum.VALID.equals(validation.status()))
+                .forEach(validation -> checkInIndex.markAdmitted(validation.ticketId()));
+
+        List<ScanResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (decisions[i] == null) {
+                results.add(new ScanResult(ticketIds[i], null, errors[i]));
+                continue;
+            }
+            TicketValidationStatusEnum status = written.get(decisions[i].id());
+            checkInBroadcaster.publish(new CheckInEvent(statesByTicketId.get(ticketIds[i]).getEventId(), ticketIds[i],
+                    status, decisions[i].method(), decisions[i].validatedAt()));
+            results.add(new ScanResult(ticketIds[i], status, null));
+        }
+        return results;
     }
 
-    private TicketValidation validateTicket(Ticket ticket, TicketValidationMethod ticketValidationMethod) {
+    // The decision is final once it is made, the row is persisted behind the response
+    private TicketValidation record(UUID ticketId, UUID eventId, TicketValidationStatusEnum status,
+                                    TicketValidationMethod ticketValidationMethod, boolean claimed) {
+        Ticket ticket = new Ticket();
+        ticket.setId(ticketId);
+
         TicketValidation ticketValidation = new TicketValidation();
+        ticketValidation.setId(UUID.randomUUID());
         ticketValidation.setTicket(ticket);
         ticketValidation.setValidationMethod(ticketValidationMethod);
+        ticketValidation.setStatus(status);
+        ticketValidation.setCreatedAt(LocalDateTime.now());
+        ticketValidation.setUpdatedAt(ticketValidation.getCreatedAt());
 
-        TicketValidationStatusEnum ticketValidationStatus = ticket.getValidations().stream()
-                .filter(validity -> TicketValidationStatusEnum.VALID.equals(validity.getStatus()))
-                .findFirst()
-                .map(v -> TicketValidationStatusEnum.INVALID)
-                .orElse(TicketValidationStatusEnum.VALID);
-
-        ticketValidation.setStatus(ticketValidationStatus);
-        return ticketValidationRepository.save(ticketValidation);
+        ticketValidationWriter.write(new PendingValidation(ticketValidation.getId(),
+                ticketId, status, ticketValidationMethod, ticketValidation.getCreatedAt(), claimed));
+        checkInBroadcaster.publish(new CheckInEvent(eventId, ticketId, status, ticketValidationMethod,
+                ticketValidation.getCreatedAt()));
+        return ticketValidation;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.ritik.eventbackend.util;
+
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+/**
+ * Writes a {@link BitMatrix} straight to a 1-bit grayscale PNG. Scanlines are packed from the
+ * matrix rows without going through a {@link java.awt.image.BufferedImage}, and the scratch buffers
+ * are reused per thread. The deflater holds native zlib memory, so each image gets its own and
+ * ends it, rather than leaving one behind on every pool thread that is discarded.
+ */
+public final class QrPngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte[] IHDR = {'I', 'H', 'D', 'R'};
+    private static final byte[] IDAT = {'I', 'D', 'A', 'T'};
+    private static final byte[] IEND = {'I', 'E', 'N', 'D'};
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private QrPngEncoder() {
+    }
+
+    public static byte[] encode(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int stride = 1 + (width + 7) / 8;
+
+        Buffers buffers = BUFFERS.get();
+        byte[] raw = buffers.raw(stride * height);
+        BitArray row = buffers.row(width);
+
+        for (int y = 0; y < height; y++) {
+            row = matrix.getRow(y, row);
+            packRow(row.getBitArray(), width, raw, y * stride);
+        }
+
+        byte[] compressed = buffers.compressed(raw.length + raw.length / 1000 + 64);
+        int compressedLength = 0;
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw, 0, stride * height);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (compressedLength == compressed.length) {
+                    compressed = buffers.growCompressed();
+                }
+                compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        byte[] png = new byte[SIGNATURE.length + (12 + 13) + (12 + compressedLength) + 12];
+        System.arraycopy(SIGNATURE, 0, png, 0, SIGNATURE.length);
+        int offset = SIGNATURE.length;
+
+        byte[] header = buffers.header;
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = 1;  // bit depth
+        header[9] = 0;  // grayscale
+        header[10] = 0; // deflate
+        header[11] = 0; // adaptive filtering, every scanline uses filter type None
+        header[12] = 0; // no interlace
+        offset = writeChunk(png, offset, IHDR, header, 13, buffers.crc);
+        offset = writeChunk(png, offset, IDAT, compressed, compressedLength, buffers.crc);
+        writeChunk(png, offset, IEND, header, 0, buffers.crc);
+        return png;
+    }
+
+    // BitMatrix stores set (black) modules as 1 bits, least significant first. PNG grayscale
+    // expects 0 for black, most significant bit first.
+    private static void packRow(int[] bits, int width, byte[] raw, int offset) {
+        raw[offset++] = 0;
+        int x = 0;
+        while (x < width) {
+            int packed = 0;
+            for (int bit = 7; bit >= 0; bit--, x++) {
+                boolean black = x < width && ((bits[x >>> 5] >>> (x & 31)) & 1) != 0;
+                if (!black) {
+                    packed |= 1 << bit;
+                }
+            }
+            raw[offset++] = (byte) packed;
+        }
+    }
+
+    private static int writeChunk(byte[] png, int offset, byte[] type, byte[] data, int length, CRC32 crc) {
+        writeInt(png, offset, length);
+        System.arraycopy(type, 0, png, offset + 4, 4);
+        System.arraycopy(data, 0, png, offset + 8, length);
+        crc.reset();
+        crc.update(png, offset + 4, 4 + length);
+        writeInt(png, offset + 8 + length, (int) crc.getValue());
+        return offset + 12 + length;
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static final class Buffers {
+        private final CRC32 crc = new CRC32();
+        private final byte[] header = new byte[13];
+        private byte[] raw = new byte[0];
+        private byte[] compressed = new byte[0];
+        private BitArray row = new BitArray(0);
+
+        private byte[] raw(int size) {
+            if (raw.length < size) {
+                raw = new byte[size];
+            }
+            return raw;
+        }
+
+        private byte[] compressed(int size) {
+            if (compressed.length < size) {
+                compressed = new byte[size];
+            }
+            return compressed;
+        }
+
+        private byte[] growCompressed() {
+            compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            return compressed;
+        }
+
+        private BitArray row(int width) {
+            if (row.getSize() < width) {
+                row = new BitArray(width);
+            }
+            return row;
+        }
+    }
+}
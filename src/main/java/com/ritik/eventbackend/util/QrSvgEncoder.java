@@ -0,0 +1,49 @@
+package com.ritik.eventbackend.util;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.zxing.common.BitMatrix;
+
+/**
+ * Writes a {@link BitMatrix} with one unit per module as an SVG. Each horizontal run of dark modules
+ * becomes one path segment, and the requested size is applied through width and height only, so the
+ * output length does not grow with the display size.
+ */
+public final class QrSvgEncoder {
+
+    private QrSvgEncoder() {
+    }
+
+    public static byte[] encode(BitMatrix matrix, int size) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        StringBuilder svg = new StringBuilder(256 + width * height / 2);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+                .append(width).append(' ').append(height)
+                .append("\" width=\"").append(size)
+                .append("\" height=\"").append(size)
+                .append("\" shape-rendering=\"crispEdges\">")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>")
+                .append("<path fill=\"#000\" d=\"");
+
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                svg.append('M').append(start).append(' ').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+
+        svg.append("\"/></svg>");
+        return svg.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
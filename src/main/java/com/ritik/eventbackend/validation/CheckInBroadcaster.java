@@ -0,0 +1,158 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans check-in decisions out to gate supervisors over SSE and keeps per-event counters.
+ * Publishing never blocks: every subscriber has a bounded queue that drops its oldest events when
+ * the subscriber falls behind, and a virtual thread of its own that does the (possibly slow)
+ * writes to the connection and pushes a counter snapshot at a fixed interval. Counters of an event
+ * are dropped when it is deleted, or once nobody scanned or watched it for a while, as happens
+ * after it ended.
+ */
+@Component
+@Slf4j
+public class CheckInBroadcaster {
+
+    private static final class Subscriber {
+        private final UUID eventId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<CheckInEvent> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean open = true;
+        private Thread sender;
+
+        private Subscriber(UUID eventId, SseEmitter emitter, int queueCapacity) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void offer(CheckInEvent event) {
+            while (!queue.offer(event)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private final int queueCapacity;
+    private final long statsIntervalNanos;
+    private final long streamTimeoutMillis;
+    private final long countersIdleSeconds;
+    private final Map<UUID, CheckInCounters> counters = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public CheckInBroadcaster(@Value("${tickets.validation.stream-queue-capacity:1000}") int queueCapacity,
+                              @Value("${tickets.validation.stream-stats-interval:PT1S}") Duration statsInterval,
+                              @Value("${tickets.validation.stream-timeout:PT30M}") Duration streamTimeout,
+                              @Value("${tickets.validation.stream-counters-idle-timeout:PT12H}") Duration countersIdleTimeout) {
+        this.queueCapacity = queueCapacity;
+        this.statsIntervalNanos = statsInterval.toNanos();
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.countersIdleSeconds = countersIdleTimeout.toSeconds();
+    }
+
+    public void publish(CheckInEvent event) {
+        counters.computeIfAbsent(event.eventId(), eventId -> new CheckInCounters())
+                .record(TicketValidationStatusEnum.VALID.equals(event.status()), System.currentTimeMillis() / 1000);
+        Set<Subscriber> eventSubscribers = subscribers.get(event.eventId());
+        if (eventSubscribers != null) {
+            eventSubscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    public SseEmitter subscribe(UUID eventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(eventId, emitter, queueCapacity);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        subscribers.compute(eventId, (id, eventSubscribers) -> {
+            Set<Subscriber> updated = eventSubscribers != null ? eventSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriber.sender = Thread.ofVirtual().name("check-in-stream-" + eventId).start(() -> send(subscriber));
+        return emitter;
+    }
+
+    public CheckInStats stats(UUID eventId) {
+        return stats(eventId, 0);
+    }
+
+    public void evictEvent(UUID eventId) {
+        counters.remove(eventId);
+        Set<Subscriber> eventSubscribers = subscribers.remove(eventId);
+        if (eventSubscribers != null) {
+            eventSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+    }
+
+    // Scans stop once an event is over, so idle counters nobody is watching belong to ended events
+    @Scheduled(fixedDelayString = "${tickets.validation.index-sweep-interval:PT1M}")
+    public void sweep() {
+        long idleBefore = System.currentTimeMillis() / 1000 - countersIdleSeconds;
+        counters.entrySet().removeIf(entry -> entry.getValue().lastRecordedAt() < idleBefore
+                && subscribers.getOrDefault(entry.getKey(), Set.of()).isEmpty());
+    }
+
+    private CheckInStats stats(UUID eventId, long dropped) {
+        CheckInCounters eventCounters = counters.get(eventId);
+        if (eventCounters == null) {
+            return new CheckInStats(eventId, 0, 0, 0, dropped);
+        }
+        return new CheckInStats(eventId, eventCounters.admitted(), eventCounters.rejected(),
+                eventCounters.scansPerSecond(System.currentTimeMillis() / 1000), dropped);
+    }
+
+    private void send(Subscriber subscriber) {
+        long nextStats = System.nanoTime();
+        try {
+            while (subscriber.open) {
+                long wait = nextStats - System.nanoTime();
+                CheckInEvent event = wait > 0 ? subscriber.queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                if (event != null) {
+                    subscriber.emitter.send(SseEmitter.event().name("check-in").data(event));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name("stats")
+                            .data(stats(subscriber.eventId, subscriber.dropped.get())));
+                    nextStats = System.nanoTime() + statsIntervalNanos;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Check-in stream for event {} closed", subscriber.eventId, ex);
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.open = false;
+        subscribers.computeIfPresent(subscriber.eventId, (id, eventSubscribers) -> {
+            eventSubscribers.remove(subscriber);
+            return eventSubscribers.isEmpty() ? null : eventSubscribers;
+        });
+        if (subscriber.sender != null && subscriber.sender != Thread.currentThread()) {
+            subscriber.sender.interrupt();
+        }
+    }
+}
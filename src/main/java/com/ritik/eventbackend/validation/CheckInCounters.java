@@ -0,0 +1,60 @@
+package com.ritik.eventbackend.validation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admitted and rejected totals of an event plus a scan rate over the last few seconds, kept in
+ * one bucket per second. A bucket packs its second and its count into one long, so moving it to a
+ * new second and counting a scan in it is a single atomic update and no scan is lost to a reset.
+ */
+final class CheckInCounters {
+
+    private static final int WINDOW_SECONDS = 10;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(WINDOW_SECONDS);
+    private volatile long lastRecordedAt;
+
+    void record(boolean valid, long epochSecond) {
+        (valid ? admitted : rejected).increment();
+        lastRecordedAt = epochSecond;
+        int bucket = (int) (epochSecond % WINDOW_SECONDS);
+        // A scan that arrives after its bucket moved on to a later second is too old for the rate
+        buckets.getAndUpdate(bucket, packed -> {
+            long second = packed >>> COUNT_BITS;
+            if (second == epochSecond) {
+                return (packed & COUNT_MASK) == COUNT_MASK ? packed : packed + 1;
+            }
+            return second < epochSecond ? (epochSecond << COUNT_BITS) | 1 : packed;
+        });
+    }
+
+    long lastRecordedAt() {
+        return lastRecordedAt;
+    }
+
+    long admitted() {
+        return admitted.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    // The current second is still filling up, so the rate covers the full seconds before it
+    double scansPerSecond(long epochSecond) {
+        long scans = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long packed = buckets.get(i);
+            long age = epochSecond - (packed >>> COUNT_BITS);
+            if (age >= 1 && age < WINDOW_SECONDS) {
+                scans += packed & COUNT_MASK;
+            }
+        }
+        return scans / (double) (WINDOW_SECONDS - 1);
+    }
+}
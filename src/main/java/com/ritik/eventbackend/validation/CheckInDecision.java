@@ -0,0 +1,8 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+
+import java.util.UUID;
+
+public record CheckInDecision(UUID ticketId, UUID eventId, TicketValidationStatusEnum status) {
+}
@@ -0,0 +1,11 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CheckInEvent(UUID eventId, UUID ticketId, TicketValidationStatusEnum status,
+                           TicketValidationMethod method, LocalDateTime validatedAt) {
+}
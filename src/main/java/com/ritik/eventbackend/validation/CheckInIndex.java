@@ -0,0 +1,158 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.QrCodeStatusEnum;
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+import com.ritik.eventbackend.repositories.EventRepository;
+import com.ritik.eventbackend.repositories.QrCodeRepository;
+import com.ritik.eventbackend.repositories.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides check-ins in memory. The first scan touching an event loads all of its tickets, their
+ * active QR codes and whether they were already validated, so the index is rebuilt from the
+ * tickets' first validation time after a restart. Tickets bought after that are looked up and registered one
+ * by one. Looking a ticket up and admitting it are separate steps, so a scan that turns out not to
+ * match its ticket never uses up the entry. Admission itself is a single bit flip per ticket, and
+ * the write-behind claims the ticket's first validation time afterwards. The bits are per
+ * instance, so when two instances admit the same ticket both answer VALID and the claim that loses
+ * is stored as INVALID. Scans of one event should therefore go to one instance.
+ * A periodic sweep drops QR codes that stopped being active, and whole events once they ended or
+ * went unscanned for a while, so memory only holds the events that are being checked in.
+ */
+@Component
+@Slf4j
+public class CheckInIndex {
+
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final QrCodeRepository qrCodeRepository;
+    private final Duration retention;
+    private final Duration idleTimeout;
+
+    private final Map<UUID, EventCheckIns> events = new ConcurrentHashMap<>();
+    private final Map<UUID, CheckInSlot> slotsByTicketId = new ConcurrentHashMap<>();
+    private final Map<UUID, CheckInSlot> slotsByQrCodeId = new ConcurrentHashMap<>();
+
+    public CheckInIndex(TicketRepository ticketRepository,
+                        EventRepository eventRepository,
+                        QrCodeRepository qrCodeRepository,
+                        @Value("${tickets.validation.index-retention:PT6H}") Duration retention,
+                        @Value("${tickets.validation.index-idle-timeout:PT12H}") Duration idleTimeout) {
+        this.ticketRepository = ticketRepository;
+        this.eventRepository = eventRepository;
+        this.qrCodeRepository = qrCodeRepository;
+        this.retention = retention;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Optional<CheckInSlot> findByQrCode(UUID qrCodeId) {
+        CheckInSlot slot = slotsByQrCodeId.get(qrCodeId);
+        if (slot == null) {
+            slot = resolve(ticketRepository.findCheckInEntriesByQrCodeId(qrCodeId));
+        }
+        return Optional.ofNullable(slot);
+    }
+
+    public Optional<CheckInSlot> findByTicket(UUID ticketId) {
+        CheckInSlot slot = slotsByTicketId.get(ticketId);
+        if (slot == null) {
+            slot = resolve(ticketRepository.findCheckInEntriesByTicketId(ticketId));
+        }
+        return Optional.ofNullable(slot);
+    }
+
+    // Only answers for tickets whose event is already loaded, without touching the database
+    public Optional<CheckInSlot> findIfIndexed(UUID ticketId) {
+        return Optional.ofNullable(slotsByTicketId.get(ticketId));
+    }
+
+    public CheckInDecision admit(CheckInSlot slot) {
+        TicketValidationStatusEnum status = slot.event().tryAdmit(slot.ordinal())
+                ? TicketValidationStatusEnum.VALID
+                : TicketValidationStatusEnum.INVALID;
+        return new CheckInDecision(slot.ticketId(), slot.eventId(), status);
+    }
+
+    // Only answers from memory, a ticket that is not indexed or not admitted yet is left to the database
+    public boolean isAdmitted(UUID ticketId) {
+        CheckInSlot slot = slotsByTicketId.get(ticketId);
+        return slot != null && slot.event().isAdmitted(slot.ordinal());
+    }
+
+    // Mirrors an admission that is already committed in the database
+    public void markAdmitted(UUID ticketId) {
+        CheckInSlot slot = slotsByTicketId.get(ticketId);
+        if (slot != null) {
+            slot.event().tryAdmit(slot.ordinal());
+        }
+    }
+
+    // QR codes change status outside the application, so the sweep bounds how long a revoked code is still admitted
+    @Scheduled(fixedDelayString = "${tickets.validation.index-sweep-interval:PT1M}")
+    public void sweep() {
+        LocalDateTime endedBefore = LocalDateTime.now().minus(retention);
+        long idleBefore = System.currentTimeMillis() - idleTimeout.toMillis();
+        for (EventCheckIns event : List.copyOf(events.values())) {
+            if ((event.end() != null && event.end().isBefore(endedBefore)) || event.lastUsedAt() < idleBefore) {
+                evictEvent(event.eventId());
+                log.info("Evicted check-in index for event {}", event.eventId());
+                continue;
+            }
+            qrCodeRepository.findIdsByEventIdAndStatusNot(event.eventId(), QrCodeStatusEnum.ACTIVE)
+                    .forEach(this::evictQrCode);
+        }
+    }
+
+    public void evictQrCode(UUID qrCodeId) {
+        slotsByQrCodeId.remove(qrCodeId);
+    }
+
+    public void evictEvent(UUID eventId) {
+        EventCheckIns event = events.remove(eventId);
+        if (event != null) {
+            slotsByTicketId.values().removeIf(slot -> slot.event() == event);
+            slotsByQrCodeId.values().removeIf(slot -> slot.event() == event);
+        }
+    }
+
+    // Loads the whole event on first use, then registers the ticket if it was bought after the load
+    private CheckInSlot resolve(List<TicketRepository.CheckInEntry> entries) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        TicketRepository.CheckInEntry first = entries.get(0);
+        EventCheckIns event = events.computeIfAbsent(first.getEventId(), this::loadEvent);
+        CheckInSlot slot = slotsByTicketId.computeIfAbsent(first.getTicketId(),
+                ticketId -> new CheckInSlot(ticketId, event, event.register(first.getAdmitted())));
+        entries.forEach(entry -> register(entry, slot));
+        return slot;
+    }
+
+    private EventCheckIns loadEvent(UUID eventId) {
+        EventCheckIns event = new EventCheckIns(eventId, eventRepository.findEndById(eventId).orElse(null));
+        for (TicketRepository.CheckInEntry entry : ticketRepository.findCheckInEntriesByEventId(eventId)) {
+            CheckInSlot slot = slotsByTicketId.computeIfAbsent(entry.getTicketId(),
+                    ticketId -> new CheckInSlot(ticketId, event, event.register(entry.getAdmitted())));
+            register(entry, slot);
+        }
+        log.info("Loaded check-in index for event {} with {} tickets", eventId, event.size());
+        return event;
+    }
+
+    private void register(TicketRepository.CheckInEntry entry, CheckInSlot slot) {
+        if (entry.getQrCodeId() != null) {
+            slotsByQrCodeId.putIfAbsent(entry.getQrCodeId(), slot);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ritik.eventbackend.validation;
+
+import java.util.UUID;
+
+/**
+ * A ticket resolved by the {@link CheckInIndex}. Resolving never admits, so callers can check the
+ * scan against the ticket before {@link CheckInIndex#admit(CheckInSlot)} uses up its entry.
+ */
+public final class CheckInSlot {
+
+    private final UUID ticketId;
+    private final EventCheckIns event;
+    private final int ordinal;
+
+    CheckInSlot(UUID ticketId, EventCheckIns event, int ordinal) {
+        this.ticketId = ticketId;
+        this.event = event;
+        this.ordinal = ordinal;
+    }
+
+    public UUID ticketId() {
+        return ticketId;
+    }
+
+    public UUID eventId() {
+        return event.eventId();
+    }
+
+    EventCheckIns event() {
+        return event;
+    }
+
+    int ordinal() {
+        return ordinal;
+    }
+}
@@ -0,0 +1,10 @@
+package com.ritik.eventbackend.validation;
+
+import java.util.UUID;
+
+/**
+ * Counters of one event as seen by this instance since it started. {@code dropped} is the number
+ * of check-in events the receiving subscriber lost because it fell behind.
+ */
+public record CheckInStats(UUID eventId, long admitted, long rejected, double scansPerSecond, long dropped) {
+}
@@ -0,0 +1,93 @@
+package com.ritik.eventbackend.validation;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Admission state of one event. Tickets get dense ordinals as they are registered and admission
+ * is one bit per ordinal, stored in fixed-size chunks so the bitset can grow without copying.
+ */
+final class EventCheckIns {
+
+    private static final int CHUNK_BITS = 1 << 16;
+    private static final int CHUNK_WORDS = CHUNK_BITS / Long.SIZE;
+
+    private final UUID eventId;
+    private final LocalDateTime end;
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+    private volatile long lastUsedAt = System.currentTimeMillis();
+
+    EventCheckIns(UUID eventId) {
+        this(eventId, null);
+    }
+
+    EventCheckIns(UUID eventId, LocalDateTime end) {
+        this.eventId = eventId;
+        this.end = end;
+    }
+
+    UUID eventId() {
+        return eventId;
+    }
+
+    LocalDateTime end() {
+        return end;
+    }
+
+    long lastUsedAt() {
+        return lastUsedAt;
+    }
+
+    int register(boolean admitted) {
+        int ordinal = nextOrdinal.getAndIncrement();
+        AtomicLongArray chunk = chunkFor(ordinal);
+        if (admitted) {
+            int bit = ordinal % CHUNK_BITS;
+            chunk.getAndUpdate(bit / Long.SIZE, word -> word | (1L << bit));
+        }
+        return ordinal;
+    }
+
+    // True only for the first caller, so concurrent scans of the same ticket admit exactly once
+    boolean tryAdmit(int ordinal) {
+        lastUsedAt = System.currentTimeMillis();
+        int bit = ordinal % CHUNK_BITS;
+        long mask = 1L << bit;
+        long previous = chunks[ordinal / CHUNK_BITS].getAndUpdate(bit / Long.SIZE, word -> word | mask);
+        return (previous & mask) == 0;
+    }
+
+    boolean isAdmitted(int ordinal) {
+        lastUsedAt = System.currentTimeMillis();
+        int bit = ordinal % CHUNK_BITS;
+        return (chunks[ordinal / CHUNK_BITS].get(bit / Long.SIZE) & (1L << bit)) != 0;
+    }
+
+    int size() {
+        return nextOrdinal.get();
+    }
+
+    private AtomicLongArray chunkFor(int ordinal) {
+        int index = ordinal / CHUNK_BITS;
+        AtomicLongArray[] current = chunks;
+        if (index < current.length) {
+            return current[index];
+        }
+        synchronized (this) {
+            current = chunks;
+            if (index >= current.length) {
+                AtomicLongArray[] grown = Arrays.copyOf(current, index + 1);
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new AtomicLongArray(CHUNK_WORDS);
+                }
+                chunks = grown;
+                current = grown;
+            }
+            return current[index];
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A decided ticket validation that still has to be written.
+ *
+ * @param claimed whether first_validated_at was already set for this validation by the caller
+ */
+public record PendingValidation(UUID id, UUID ticketId, TicketValidationStatusEnum status,
+                                TicketValidationMethod method, LocalDateTime validatedAt, boolean claimed) {
+
+    PendingValidation withStatus(TicketValidationStatusEnum status) {
+        return new PendingValidation(id, ticketId, status, method, validatedAt, claimed);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A scan replayed by a scanner. MANUAL scans carry a ticket id, QR scans either a signed payload
+ * or a QR code id.
+ */
+public record ScannedTicket(UUID id, String payload, TicketValidationMethod method, LocalDateTime scannedAt) {
+}
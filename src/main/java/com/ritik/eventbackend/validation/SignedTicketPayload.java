@@ -0,0 +1,6 @@
+package com.ritik.eventbackend.validation;
+
+import java.util.UUID;
+
+public record SignedTicketPayload(UUID qrCodeId, UUID ticketId, UUID eventId, long expiresAt, String keyId) {
+}
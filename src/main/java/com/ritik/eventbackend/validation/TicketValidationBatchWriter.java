@@ -0,0 +1,83 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes decided validations with JDBC batching. Every VALID validation first claims its ticket's
+ * first_validated_at with one conditional update, and a VALID decision whose claim finds the
+ * ticket already validated is stored as INVALID, so the database never holds two VALID rows for
+ * one ticket.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketValidationBatchWriter {
+
+    private static final String INSERT_VALIDATION = "INSERT INTO ticket_validations " +
+            "(id, ticket_id, status, validation_method, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO NOTHING";
+    private static final String CLAIM_FIRST_VALIDATION = "UPDATE tickets SET first_validated_at = ? " +
+            "WHERE id = ? AND first_validated_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public List<PendingValidation> write(List<PendingValidation> batch) {
+        List<PendingValidation> written = claim(batch);
+        insert(written);
+        return written;
+    }
+
+    private List<PendingValidation> claim(List<PendingValidation> batch) {
+        List<PendingValidation> unclaimed = batch.stream()
+                .filter(validation -> TicketValidationStatusEnum.VALID.equals(validation.status()) && !validation.claimed())
+                .toList();
+        if (unclaimed.isEmpty()) {
+            return batch;
+        }
+
+        int[][] updated = jdbcTemplate.batchUpdate(CLAIM_FIRST_VALIDATION, unclaimed, unclaimed.size(), (statement, validation) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(validation.validatedAt()));
+            statement.setObject(2, validation.ticketId());
+        });
+        Set<UUID> conflicts = new HashSet<>();
+        for (int i = 0; i < unclaimed.size(); i++) {
+            if (updated[0][i] == 0) {
+                conflicts.add(unclaimed.get(i).id());
+            }
+        }
+        if (conflicts.isEmpty()) {
+            return batch;
+        }
+
+        log.warn("{} tickets decided VALID were already validated in the database", conflicts.size());
+        return batch.stream()
+                .map(validation -> conflicts.contains(validation.id())
+                        ? validation.withStatus(TicketValidationStatusEnum.INVALID)
+                        : validation)
+                .toList();
+    }
+
+    private void insert(List<PendingValidation> batch) {
+        jdbcTemplate.batchUpdate(INSERT_VALIDATION, batch, batch.size(), (statement, validation) -> {
+            Timestamp validatedAt = Timestamp.valueOf(validation.validatedAt());
+            statement.setObject(1, validation.id());
+            statement.setObject(2, validation.ticketId());
+            statement.setString(3, validation.status().name());
+            statement.setString(4, validation.method().name());
+            statement.setTimestamp(5, validatedAt);
+            statement.setTimestamp(6, validatedAt);
+        });
+    }
+}
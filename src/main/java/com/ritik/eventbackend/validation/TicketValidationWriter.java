@@ -0,0 +1,156 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.exceptions.EventTicketException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for ticket validations decided by the {@link CheckInIndex}. A validation is
+ * appended to the {@link ValidationJournal} and only acknowledged once the journal is synced, then
+ * a single flusher drains the queue and hands each batch to the {@link TicketValidationBatchWriter}.
+ * A batch the database rejects is split in halves until the rejected validations are isolated,
+ * which go to the journal's dead-letter file while the rest are written. Any other failure keeps
+ * the batch and retries it, and producers block once the queue is full, so validations are delayed
+ * rather than lost while the database is unavailable. Whatever the journal still holds
+ * after a crash is written before the application takes traffic, with rejected records
+ * dead-lettered the same way. Replaying is idempotent because the claim and the insert of a
+ * validation commit together and the insert skips existing ids.
+ */
+@Component
+@Slf4j
+public class TicketValidationWriter {
+
+    private record JournaledValidation(long sequence, PendingValidation validation) {
+    }
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    // Recovered records belong to segments of the previous run, which the journal does not track
+    private static final long RECOVERED = -1;
+
+    private final TicketValidationBatchWriter ticketValidationBatchWriter;
+    private final ValidationJournal validationJournal;
+    private final int maxBatchSize;
+    private final BlockingQueue<JournaledValidation> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public TicketValidationWriter(TicketValidationBatchWriter ticketValidationBatchWriter,
+                                  ValidationJournal validationJournal,
+                                  @Value("${tickets.validation.write-batch-size:500}") int maxBatchSize,
+                                  @Value("${tickets.validation.write-queue-capacity:100000}") int queueCapacity) {
+        this.ticketValidationBatchWriter = ticketValidationBatchWriter;
+        this.validationJournal = validationJournal;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        // Replayed like any other batch, so a record the database rejects is dead-lettered instead of failing every startup
+        List<JournaledValidation> recovered = validationJournal.recover().stream()
+                .map(validation -> new JournaledValidation(RECOVERED, validation))
+                .toList();
+        for (int from = 0; from < recovered.size(); from += maxBatchSize) {
+            flush(new ArrayList<>(recovered.subList(from, Math.min(from + maxBatchSize, recovered.size()))));
+        }
+        validationJournal.start();
+        running = true;
+        flusher = Thread.ofPlatform().name("ticket-validation-flusher").daemon().start(this::runFlusher);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        validationJournal.stop();
+    }
+
+    public void write(PendingValidation validation) {
+        long sequence = validationJournal.append(validation);
+        try {
+            queue.put(new JournaledValidation(sequence, validation));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EventTicketException("Interrupted while queuing ticket validation", ex);
+        }
+        validationJournal.awaitDurable(sequence);
+    }
+
+    // Drained validations are removed from the batch, so a failure leaves only the ones still to write
+    private void flush(List<JournaledValidation> batch) {
+        Deque<List<JournaledValidation>> parts = new ArrayDeque<>();
+        parts.push(batch);
+        int done = 0;
+        try {
+            while (!parts.isEmpty()) {
+                List<JournaledValidation> part = parts.pop();
+                try {
+                    ticketValidationBatchWriter.write(part.stream().map(JournaledValidation::validation).toList());
+                } catch (DataIntegrityViolationException ex) {
+                    if (part.size() > 1) {
+                        int middle = part.size() / 2;
+                        parts.push(part.subList(middle, part.size()));
+                        parts.push(part.subList(0, middle));
+                        continue;
+                    }
+                    log.error("Dead-lettering ticket validation {} rejected by the database", part.get(0).validation().id(), ex);
+                    validationJournal.deadLetter(part.get(0).validation());
+                }
+                part.stream()
+                        .filter(journaled -> journaled.sequence() != RECOVERED)
+                        .forEach(journaled -> validationJournal.markDrained(journaled.sequence()));
+                done += part.size();
+            }
+        } catch (RuntimeException ex) {
+            batch.subList(0, done).clear();
+            throw ex;
+        }
+        batch.clear();
+    }
+
+    private void runFlusher() {
+        List<JournaledValidation> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    JournaledValidation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Failed to write {} ticket validations, retrying", batch.size(), ex);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
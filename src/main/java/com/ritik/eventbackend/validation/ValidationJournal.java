@@ -0,0 +1,301 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+import com.ritik.eventbackend.exceptions.EventTicketException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal of validations that are not in ticket_validations yet. Records are
+ * fixed size and written into memory-mapped segment files. A single sync thread forces the current
+ * segment whenever there is something new, so all appends that arrive during one force share the
+ * next one. A segment file is deleted once it is full and every record in it was drained to the
+ * database. Each record carries a CRC, so a torn write at the end of a segment after a crash ends
+ * the replay of that segment instead of producing garbage. Validations the database keeps
+ * rejecting are appended to a dead-letter file in the same record format, which is never replayed.
+ */
+@Component
+@Slf4j
+public class ValidationJournal {
+
+    private static final int RECORD_SIZE = 64;
+    private static final int CHECKSUM_OFFSET = RECORD_SIZE - 4;
+    private static final byte RECORD_MARKER = 1;
+    private static final String SEGMENT_PREFIX = "validations-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String DEAD_LETTER_FILE = "dead-letters.journal";
+    private static final TicketValidationStatusEnum[] STATUSES = TicketValidationStatusEnum.values();
+    private static final TicketValidationMethod[] METHODS = TicketValidationMethod.values();
+
+    private static final class Segment {
+        private final Path path;
+        private final long firstSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger drained = new AtomicInteger();
+        private volatile int written;
+        private volatile boolean full;
+
+        private Segment(Path path, long firstSequence, int size) throws IOException {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final CRC32 crc = new CRC32();
+    private final Object syncMonitor = new Object();
+
+    private volatile Segment current;
+    private long nextSequence;
+    private long appendedSequence;
+    private long forcedSequence;
+    private volatile boolean running;
+    private Thread syncer;
+
+    public ValidationJournal(@Value("${tickets.validation.journal-directory:data/validation-journal}") Path directory,
+                             @Value("${tickets.validation.journal-segment-size:64MB}") DataSize segmentSize) {
+        this.directory = directory;
+        this.recordsPerSegment = (int) (segmentSize.toBytes() / RECORD_SIZE);
+    }
+
+    /**
+     * Reads every record left by a previous run. Must be called before {@link #start()}, which
+     * discards the old segments, so the caller has to persist the records first.
+     */
+    public List<PendingValidation> recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> paths;
+            try (Stream<Path> files = Files.list(directory)) {
+                paths = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)).sorted().toList();
+            }
+            List<PendingValidation> recovered = new ArrayList<>();
+            for (Path path : paths) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    for (int offset = 0; offset + RECORD_SIZE <= buffer.capacity(); offset += RECORD_SIZE) {
+                        PendingValidation validation = read(buffer, offset);
+                        if (validation == null) {
+                            break;
+                        }
+                        recovered.add(validation);
+                    }
+                }
+            }
+            log.info("Recovered {} validations from {} journal segments", recovered.size(), paths.size());
+            return recovered;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read validation journal", ex);
+        }
+    }
+
+    public synchronized void start() {
+        try {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path path : files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)).toList()) {
+                    Files.delete(path);
+                }
+            }
+            current = openSegment(0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open validation journal", ex);
+        }
+        running = true;
+        syncer = Thread.ofPlatform().name("validation-journal-sync").daemon().start(this::runSyncer);
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        if (syncer != null) {
+            syncer.join();
+        }
+    }
+
+    /**
+     * Appends the validation and returns its sequence number. The record is not durable before
+     * {@link #awaitDurable(long)} returns for that sequence.
+     */
+    public synchronized long append(PendingValidation validation) {
+        if (current.written == recordsPerSegment) {
+            roll();
+        }
+        Segment segment = current;
+        write(segment.buffer, segment.written * RECORD_SIZE, validation);
+        segment.written++;
+        long sequence = nextSequence++;
+        synchronized (syncMonitor) {
+            appendedSequence = sequence + 1;
+            syncMonitor.notifyAll();
+        }
+        return sequence;
+    }
+
+    /**
+     * Sets aside a validation that can never be written, so it stops holding up the ones behind
+     * it. The caller still has to mark it drained.
+     */
+    public synchronized void deadLetter(PendingValidation validation) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        write(record, 0, validation);
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(record);
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to dead-letter validation %s".formatted(validation.id()), ex);
+        }
+    }
+
+    public void awaitDurable(long sequence) {
+        synchronized (syncMonitor) {
+            while (forcedSequence <= sequence) {
+                if (!running) {
+                    throw new EventTicketException("Validation journal is closed");
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new EventTicketException("Interrupted while waiting for the validation journal", ex);
+                }
+            }
+        }
+    }
+
+    public void markDrained(long sequence) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(sequence);
+        if (entry == null) {
+            return;
+        }
+        Segment segment = entry.getValue();
+        if (segment.drained.incrementAndGet() == recordsPerSegment && segment.full) {
+            close(segment);
+        }
+    }
+
+    private void runSyncer() {
+        while (true) {
+            long target;
+            synchronized (syncMonitor) {
+                while (running && appendedSequence == forcedSequence) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (!running && appendedSequence == forcedSequence) {
+                    syncMonitor.notifyAll();
+                    return;
+                }
+                target = appendedSequence;
+            }
+            // Full segments are forced when they are rolled, so the current one covers the target
+            current.buffer.force();
+            synchronized (syncMonitor) {
+                forcedSequence = Math.max(forcedSequence, target);
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void roll() {
+        Segment full = current;
+        full.buffer.force();
+        try {
+            current = openSegment(full.firstSequence + recordsPerSegment);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to roll validation journal", ex);
+        }
+        full.full = true;
+        if (full.drained.get() == recordsPerSegment) {
+            close(full);
+        }
+    }
+
+    private Segment openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(SEGMENT_PREFIX + "%020d".formatted(firstSequence) + SEGMENT_SUFFIX);
+        Segment segment = new Segment(path, firstSequence, recordsPerSegment * RECORD_SIZE);
+        segments.put(firstSequence, segment);
+        return segment;
+    }
+
+    // Draining and rolling can both see the last record of a segment go, only the first one closes it
+    private void close(Segment segment) {
+        if (segments.remove(segment.firstSequence, segment)) {
+            try {
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+            } catch (IOException ex) {
+                log.warn("Unable to delete drained journal segment {}", segment.path, ex);
+            }
+        }
+    }
+
+    private void write(ByteBuffer buffer, int offset, PendingValidation validation) {
+        buffer.put(offset, RECORD_MARKER);
+        buffer.putLong(offset + 1, validation.id().getMostSignificantBits());
+        buffer.putLong(offset + 9, validation.id().getLeastSignificantBits());
+        buffer.putLong(offset + 17, validation.ticketId().getMostSignificantBits());
+        buffer.putLong(offset + 25, validation.ticketId().getLeastSignificantBits());
+        buffer.put(offset + 33, (byte) validation.status().ordinal());
+        buffer.put(offset + 34, (byte) validation.method().ordinal());
+        buffer.put(offset + 35, (byte) (validation.claimed() ? 1 : 0));
+        buffer.putLong(offset + 36, validation.validatedAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(offset + 44, validation.validatedAt().getNano());
+        crc.reset();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        buffer.putInt(offset + CHECKSUM_OFFSET, (int) crc.getValue());
+    }
+
+    private PendingValidation read(MappedByteBuffer buffer, int offset) {
+        if (buffer.get(offset) != RECORD_MARKER) {
+            return null;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        if ((int) checksum.getValue() != buffer.getInt(offset + CHECKSUM_OFFSET)) {
+            log.warn("Ignoring torn journal record at offset {}", offset);
+            return null;
+        }
+        return new PendingValidation(
+                new UUID(buffer.getLong(offset + 1), buffer.getLong(offset + 9)),
+                new UUID(buffer.getLong(offset + 17), buffer.getLong(offset + 25)),
+                STATUSES[buffer.get(offset + 33)],
+                METHODS[buffer.get(offset + 34)],
+                LocalDateTime.ofEpochSecond(buffer.getLong(offset + 36), buffer.getInt(offset + 44), ZoneOffset.UTC),
+                buffer.get(offset + 35) == 1);
+    }
+}
@@ -1,11 +1,19 @@
 package com.ritik.eventbackend;
 
+import com.ritik.eventbackend.support.QrSigningTestKeys;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class EventBackendApplicationTests {
 
+    @DynamicPropertySource
+    static void qrSigningKeys(DynamicPropertyRegistry registry) {
+        QrSigningTestKeys.register(registry);
+    }
+
     @Test
     void contextLoads() {
     }
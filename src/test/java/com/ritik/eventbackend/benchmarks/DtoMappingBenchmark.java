@@ -0,0 +1,87 @@
+package com.ritik.eventbackend.benchmarks;
+
+import com.ritik.eventbackend.entities.Event;
+import com.ritik.eventbackend.entities.Ticket;
+import com.ritik.eventbackend.entities.TicketType;
+import com.ritik.eventbackend.entities.enums.EventStatusEnum;
+import com.ritik.eventbackend.entities.enums.TicketStatusEnum;
+import com.ritik.eventbackend.mappers.EventMapper;
+import com.ritik.eventbackend.mappers.EventMapperImpl;
+import com.ritik.eventbackend.mappers.TicketMapper;
+import com.ritik.eventbackend.mappers.TicketMapperImpl;
+import com.ritik.eventbackend.payload.dtos.ListEventResponseDto;
+import com.ritik.eventbackend.payload.dtos.ListTicketResponseDto;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row mapping cost of the list endpoints with the previous ModelMapper and the generated mappers.
+ * Run with: java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main DtoMappingBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final EventMapper eventMapper = new EventMapperImpl();
+    private final TicketMapper ticketMapper = new TicketMapperImpl();
+
+    private Event event;
+    private Ticket ticket;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setName("Concert");
+        event.setVenue("Arena");
+        event.setStart(now);
+        event.setEnd(now.plusHours(3));
+        event.setStatus(EventStatusEnum.PUBLISHED);
+        for (int i = 0; i < 3; i++) {
+            TicketType ticketType = new TicketType();
+            ticketType.setId(UUID.randomUUID());
+            ticketType.setName("Type " + i);
+            ticketType.setPrice(40.0);
+            ticketType.setTotalAvailable(500);
+            ticketType.setEvent(event);
+            event.getTicketTypes().add(ticketType);
+        }
+        ticket = new Ticket();
+        ticket.setId(UUID.randomUUID());
+        ticket.setStatus(TicketStatusEnum.PURCHASED);
+        ticket.setTicketType(event.getTicketTypes().get(0));
+        // ModelMapper builds its type map on first use, keep that out of the measurement
+        modelMapper.map(event, ListEventResponseDto.class);
+        modelMapper.map(ticket, ListTicketResponseDto.class);
+    }
+
+    @Benchmark
+    public ListEventResponseDto eventModelMapper() {
+        return modelMapper.map(event, ListEventResponseDto.class);
+    }
+
+    @Benchmark
+    public ListEventResponseDto eventGeneratedMapper() {
+        return eventMapper.toListEventResponseDto(event);
+    }
+
+    @Benchmark
+    public ListTicketResponseDto ticketModelMapper() {
+        return modelMapper.map(ticket, ListTicketResponseDto.class);
+    }
+
+    @Benchmark
+    public ListTicketResponseDto ticketGeneratedMapper() {
+        return ticketMapper.toListTicketResponseDto(ticket);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ritik.eventbackend.benchmarks;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.ritik.eventbackend.util.QrPngEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous BufferedImage + ImageIO path with {@link QrPngEncoder} for a 300x300 QR code.
+ * Run with: java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main QrPngEncoderBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrPngEncoderBenchmark {
+
+    private BitMatrix matrix;
+
+    @Setup
+    public void setUp() throws WriterException {
+        matrix = new QRCodeWriter().encode(UUID.randomUUID().toString(), BarcodeFormat.QR_CODE, 300, 300);
+    }
+
+    @Benchmark
+    public byte[] imageIo() throws IOException {
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            ImageIO.write(MatrixToImageWriter.toBufferedImage(matrix), "png", os);
+            return os.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public byte[] qrPngEncoder() {
+        return QrPngEncoder.encode(matrix);
+    }
+}
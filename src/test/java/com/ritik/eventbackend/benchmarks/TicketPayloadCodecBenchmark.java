@@ -0,0 +1,47 @@
+package com.ritik.eventbackend.benchmarks;
+
+import com.ritik.eventbackend.support.QrSigningTestKeys;
+import com.ritik.eventbackend.validation.SignedTicketPayload;
+import com.ritik.eventbackend.validation.TicketPayloadCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded verification throughput of signed QR payloads, which bounds how many scans one
+ * scanner core can admit offline. {@code verify} is a repeat scan answered by the verified-payload
+ * cache, {@code verifyFirstScan} pays for the Ed25519 signature check.
+ * Run with: java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main TicketPayloadCodecBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketPayloadCodecBenchmark {
+
+    private TicketPayloadCodec codec;
+    private TicketPayloadCodec uncachedCodec;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        QrSigningTestKeys.EncodedKeyPair key = QrSigningTestKeys.generate();
+        codec = new TicketPayloadCodec(QrSigningTestKeys.properties("k1", key, Map.of("k1", key.publicKey())));
+        uncachedCodec = new TicketPayloadCodec(QrSigningTestKeys.properties("k1", key, Map.of("k1", key.publicKey()), 0));
+        payload = codec.sign(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public SignedTicketPayload verify() {
+        return codec.verify(payload);
+    }
+
+    @Benchmark
+    public SignedTicketPayload verifyFirstScan() {
+        return uncachedCodec.verify(payload);
+    }
+}
@@ -0,0 +1,190 @@
+package com.ritik.eventbackend.controller;
+
+import com.ritik.eventbackend.entities.Event;
+import com.ritik.eventbackend.entities.Ticket;
+import com.ritik.eventbackend.entities.TicketType;
+import com.ritik.eventbackend.entities.User;
+import com.ritik.eventbackend.entities.enums.EventStatusEnum;
+import com.ritik.eventbackend.entities.enums.TicketStatusEnum;
+import com.ritik.eventbackend.repositories.EventRepository;
+import com.ritik.eventbackend.repositories.TicketRepository;
+import com.ritik.eventbackend.repositories.UserRepository;
+import com.ritik.eventbackend.support.QrSigningTestKeys;
+import com.ritik.eventbackend.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read endpoints must run a fixed number of statements however many rows they return. Each
+ * endpoint is called once with one row and once with several, inside a transaction standing in
+ * for the open session of a web request, and both calls must issue the same statements.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.ritik.eventbackend.support.SqlStatementCounter")
+class ReadEndpointQueryCountTests {
+
+    @DynamicPropertySource
+    static void qrSigningKeys(DynamicPropertyRegistry registry) {
+        QrSigningTestKeys.register(registry);
+    }
+
+    @Autowired
+    private EventController eventController;
+    @Autowired
+    private TicketController ticketController;
+    @Autowired
+    private PublishedEventController publishedEventController;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Event> events = new ArrayList<>();
+    private User user;
+    private Jwt jwt;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("query-count");
+        user.setEmail("query-count@example.com");
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        user = userRepository.save(user);
+        jwt = Jwt.withTokenValue("token").header("alg", "none").subject(user.getId().toString()).build();
+    }
+
+    @AfterEach
+    void deleteData() {
+        ticketRepository.deleteAll(ticketRepository.findByPurchaserId(user.getId(), PageRequest.of(0, 100)));
+        eventRepository.deleteAll(events);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void listingEventsDoesNotQueryPerEvent() {
+        createEvent();
+        int single = statements(() -> eventController.listEvents(jwt, PageRequest.of(0, 20)));
+        createEvents(4);
+        int several = statements(() -> eventController.listEvents(jwt, PageRequest.of(0, 20)));
+
+        assertThat(several).isEqualTo(single);
+    }
+
+    @Test
+    void scrollingEventsDoesNotQueryPerEvent() {
+        createEvent();
+        int single = statements(() -> eventController.scrollEvents(jwt, null, 20));
+        createEvents(4);
+        int several = statements(() -> eventController.scrollEvents(jwt, null, 20));
+
+        assertThat(several).isEqualTo(single);
+    }
+
+    @Test
+    void eventDetailsLoadInOneStatement() {
+        Event event = createEvent();
+
+        assertThat(statements(() -> eventController.getEvent(jwt, event.getId()))).isEqualTo(1);
+        // Published details check the cached response's version first and only load the event on a miss,
+        // the ticket types behind its availability are looked up once per event
+        assertThat(statements(() -> publishedEventController.getPublishedEventDetails(event.getId()))).isEqualTo(3);
+        assertThat(statements(() -> publishedEventController.getPublishedEventDetails(event.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    void publishedListingsReadAvailabilityFromCounters() {
+        createEvents(3);
+        publishedEventController.listPublishedEvents(null, PageRequest.of(0, 20));
+
+        // The page comes from the page cache and availability from the reservation counters
+        assertThat(statements(() -> publishedEventController.listPublishedEvents(null, PageRequest.of(0, 20)))).isZero();
+    }
+
+    @Test
+    void listingTicketsDoesNotQueryPerTicket() {
+        createTicket(createEvent());
+        int single = statements(() -> ticketController.listTickets(jwt, PageRequest.of(0, 20)));
+        createEvents(4).forEach(this::createTicket);
+        int several = statements(() -> ticketController.listTickets(jwt, PageRequest.of(0, 20)));
+
+        assertThat(several).isEqualTo(single);
+    }
+
+    @Test
+    void ticketDetailsLoadInOneStatement() {
+        Ticket ticket = createTicket(createEvent());
+
+        assertThat(statements(() -> ticketController.getTicket(jwt, ticket.getId()))).isEqualTo(1);
+    }
+
+    private int statements(Supplier<?> request) {
+        return transactionTemplate.execute(status -> SqlStatementCounter.count(request).statements());
+    }
+
+    private List<Event> createEvents(int count) {
+        List<Event> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(createEvent());
+        }
+        return created;
+    }
+
+    private Event createEvent() {
+        LocalDateTime now = LocalDateTime.now();
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setName("Query count " + events.size());
+        event.setVenue("Test venue");
+        event.setStatus(EventStatusEnum.PUBLISHED);
+        event.setOrganizer(user);
+        event.setCreatedAt(now);
+        event.setUpdatedAt(now);
+        for (int i = 0; i < 2; i++) {
+            TicketType ticketType = new TicketType();
+            ticketType.setName("Type " + i);
+            ticketType.setPrice(10.0);
+            ticketType.setTotalAvailable(100);
+            ticketType.setSold(0);
+            ticketType.setEvent(event);
+            ticketType.setCreatedAt(now);
+            ticketType.setUpdatedAt(now);
+            event.getTicketTypes().add(ticketType);
+        }
+        Event saved = eventRepository.save(event);
+        events.add(saved);
+        return saved;
+    }
+
+    private Ticket createTicket(Event event) {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket ticket = new Ticket();
+        ticket.setStatus(TicketStatusEnum.PURCHASED);
+        ticket.setTicketType(event.getTicketTypes().get(0));
+        ticket.setPurchaser(user);
+        ticket.setCreatedAt(now);
+        ticket.setUpdatedAt(now);
+        return ticketRepository.save(ticket);
+    }
+}
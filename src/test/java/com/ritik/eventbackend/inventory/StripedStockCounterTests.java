@@ -0,0 +1,51 @@
+package com.ritik.eventbackend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockCounterTests {
+
+    @Test
+    void neverAdmitsMoreThanInitialStockUnderContention() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(1_000, 8);
+        AtomicInteger admitted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (counter.tryAcquire(1)) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(admitted.get()).isEqualTo(1_000);
+        assertThat(counter.remaining()).isZero();
+    }
+
+    @Test
+    void gathersQuantityAcrossStripes() {
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+        assertThat(counter.tryAcquire(9)).isTrue();
+        assertThat(counter.tryAcquire(2)).isFalse();
+        assertThat(counter.remaining()).isEqualTo(1);
+
+        counter.release(3);
+        assertThat(counter.tryAcquire(4)).isTrue();
+        assertThat(counter.remaining()).isZero();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ritik.eventbackend.payload;
+
+import com.ritik.eventbackend.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTests {
+
+    @Test
+    void roundTripsAtDatabasePrecision() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000), UUID.randomUUID());
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> PageCursor.decode("not a cursor")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode("AAAA")).isInstanceOf(InvalidCursorException.class);
+    }
+}
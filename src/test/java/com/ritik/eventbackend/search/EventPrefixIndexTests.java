@@ -0,0 +1,91 @@
+package com.ritik.eventbackend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventPrefixIndexTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 20, 0);
+
+    @Test
+    void suggestsPrefixMatchesInStartOrderAndFollowsUpdates() {
+        EventPrefixIndex index = new EventPrefixIndex(10);
+        EventSuggestion later = new EventSuggestion(UUID.randomUUID(), "Rock Festival", "Olympia Hall", NOW.plusDays(2));
+        EventSuggestion sooner = new EventSuggestion(UUID.randomUUID(), "Rockabilly Night", "Café Olé", NOW);
+        EventSuggestion jazz = new EventSuggestion(UUID.randomUUID(), "Jazz Brunch", "Olympia Hall", NOW.plusDays(1));
+        index.put(later, NOW);
+        index.put(sooner, NOW);
+        index.put(jazz, NOW);
+
+        // Start order holds across the tokens "rock" and "rockabilly"
+        assertThat(index.suggest("roc", 10, NOW)).containsExactly(sooner, later);
+        assertThat(index.suggest("roc", 1, NOW)).containsExactly(sooner);
+        assertThat(index.suggest("cafe", 10, NOW)).containsExactly(sooner);
+        assertThat(index.suggest("olympia j", 10, NOW)).containsExactly(jazz);
+        assertThat(index.suggest("olympia", 1, NOW)).containsExactly(jazz);
+
+        EventSuggestion renamed = new EventSuggestion(later.id(), "Blues Festival", "Olympia Hall", later.start());
+        index.put(renamed, NOW);
+        index.remove(jazz.id());
+
+        assertThat(index.suggest("roc", 10, NOW)).containsExactly(sooner);
+        assertThat(index.suggest("olympia", 10, NOW)).containsExactly(renamed);
+    }
+
+    @Test
+    void suggestsUpcomingEventsBeforePastOnes() {
+        EventPrefixIndex index = new EventPrefixIndex(10);
+        EventSuggestion lastYear = new EventSuggestion(UUID.randomUUID(), "Jazz Brunch", "Pier", NOW.minusYears(1));
+        EventSuggestion lastWeek = new EventSuggestion(UUID.randomUUID(), "Jazz Night", "Pier", NOW.minusWeeks(1));
+        EventSuggestion nextMonth = new EventSuggestion(UUID.randomUUID(), "Jazzfest", "Pier", NOW.plusMonths(1));
+        EventSuggestion tomorrow = new EventSuggestion(UUID.randomUUID(), "Jazz Picnic", "Pier", NOW.plusDays(1));
+        index.put(lastYear, NOW);
+        index.put(lastWeek, NOW);
+        index.put(nextMonth, NOW);
+        index.put(tomorrow, NOW);
+
+        assertThat(index.suggest("jaz", 10, NOW)).containsExactly(tomorrow, nextMonth, lastWeek, lastYear);
+        assertThat(index.suggest("jaz", 2, NOW)).containsExactly(tomorrow, nextMonth);
+    }
+
+    @Test
+    void makesRoomForNewEventsByEvictingPastOnes() {
+        EventPrefixIndex index = new EventPrefixIndex(2);
+        EventSuggestion past = new EventSuggestion(UUID.randomUUID(), "One", "Venue", NOW.minusDays(1));
+        EventSuggestion upcoming = new EventSuggestion(UUID.randomUUID(), "Two", "Venue", NOW.plusDays(1));
+        assertThat(index.put(past, NOW)).isTrue();
+        assertThat(index.put(upcoming, NOW)).isTrue();
+
+        EventSuggestion older = new EventSuggestion(UUID.randomUUID(), "Zero", "Venue", NOW.minusDays(2));
+        assertThat(index.put(older, NOW)).isFalse();
+        EventSuggestion added = new EventSuggestion(UUID.randomUUID(), "Three", "Venue", NOW.plusDays(2));
+        assertThat(index.put(added, NOW)).isTrue();
+        assertThat(index.suggest("venue", 10, NOW)).containsExactly(upcoming, added);
+
+        assertThat(index.put(new EventSuggestion(UUID.randomUUID(), "Four", "Venue", NOW.plusDays(3)), NOW)).isFalse();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void staysWithinItsCapacityAndReleasesMemoryOnRemove() {
+        EventPrefixIndex index = new EventPrefixIndex(2);
+        EventSuggestion first = new EventSuggestion(UUID.randomUUID(), "One", "Venue", NOW);
+        assertThat(index.put(first, NOW)).isTrue();
+        assertThat(index.put(new EventSuggestion(UUID.randomUUID(), "Two", "Venue", NOW), NOW)).isTrue();
+        assertThat(index.put(new EventSuggestion(UUID.randomUUID(), "Three", "Venue", NOW), NOW)).isFalse();
+        assertThat(index.put(new EventSuggestion(first.id(), "Uno", "Venue", NOW), NOW)).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+
+        index.remove(first.id());
+        assertThat(index.put(new EventSuggestion(UUID.randomUUID(), "Three", "Venue", NOW), NOW)).isTrue();
+
+        index.suggest("venue", 10, NOW).forEach(s -> index.remove(s.id()));
+        assertThat(index.size()).isZero();
+        assertThat(index.tokenCount()).isZero();
+        assertThat(index.estimatedBytes()).isZero();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ritik.eventbackend.services.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritik.eventbackend.inventory.TicketAvailability;
+import com.ritik.eventbackend.inventory.TicketTypeAvailability;
+import com.ritik.eventbackend.payload.dtos.GetPublishedEventDetailsResponseDto;
+import com.ritik.eventbackend.payload.dtos.ListPublishedEventResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TicketAvailabilityServiceImplTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TicketAvailability ticketAvailability = mock(TicketAvailability.class);
+    private final TicketAvailabilityServiceImpl service = new TicketAvailabilityServiceImpl(ticketAvailability, objectMapper);
+
+    @Test
+    void appendsLiveAvailabilityToCachedDetails() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        UUID general = UUID.randomUUID();
+        UUID vip = UUID.randomUUID();
+        when(ticketAvailability.forEvent(eventId)).thenReturn(List.of(
+                new TicketTypeAvailability(general, 120), new TicketTypeAvailability(vip, 0)));
+        GetPublishedEventDetailsResponseDto details = new GetPublishedEventDetailsResponseDto();
+        details.setId(eventId);
+        details.setName("Concert");
+
+        byte[] body = service.withAvailability(eventId, objectMapper.writeValueAsBytes(details));
+
+        JsonNode json = objectMapper.readTree(body);
+        assertThat(json.get("name").asText()).isEqualTo("Concert");
+        assertThat(json.get("availability")).hasSize(2);
+        assertThat(json.get("availability").get(0).get("ticketTypeId").asText()).isEqualTo(general.toString());
+        assertThat(json.get("availability").get(0).get("remaining").asLong()).isEqualTo(120);
+        assertThat(json.get("availability").get(1).get("soldOut").asBoolean()).isTrue();
+    }
+
+    @Test
+    void leavesAvailabilityOutOfListingsForEventsWithoutTicketTypes() {
+        UUID eventId = UUID.randomUUID();
+        when(ticketAvailability.forEvent(eventId)).thenReturn(List.of());
+        ListPublishedEventResponseDto listed = new ListPublishedEventResponseDto(eventId, "Concert", null, null, "Hall", null, null);
+
+        JsonNode json = objectMapper.valueToTree(service.withAvailability(listed));
+
+        assertThat(json.get("name").asText()).isEqualTo("Concert");
+        assertThat(json.has("remaining")).isFalse();
+        assertThat(json.has("soldOut")).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ritik.eventbackend.support;
+
+import com.ritik.eventbackend.config.QrSigningProperties;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Throwaway Ed25519 keys for tests, since the application only reads real QR signing keys from
+ * the environment.
+ */
+public final class QrSigningTestKeys {
+
+    private QrSigningTestKeys() {
+    }
+
+    public record EncodedKeyPair(String privateKey, String publicKey) {
+    }
+
+    public static EncodedKeyPair generate() {
+        try {
+            KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            return new EncodedKeyPair(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+                    Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static QrSigningProperties properties(String activeKeyId, EncodedKeyPair activeKey, Map<String, String> publicKeys) {
+        return properties(activeKeyId, activeKey, publicKeys, 1000);
+    }
+
+    public static QrSigningProperties properties(String activeKeyId, EncodedKeyPair activeKey, Map<String, String> publicKeys,
+                                                 int verifiedCacheSize) {
+        return new QrSigningProperties(activeKeyId, activeKey.privateKey(), publicKeys, Duration.ZERO, Duration.ZERO,
+                verifiedCacheSize);
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        EncodedKeyPair key = generate();
+        registry.add("tickets.qr.signing.active-key-id", () -> "test");
+        registry.add("tickets.qr.signing.private-key", key::privateKey);
+        registry.add("tickets.qr.signing.public-keys.test", key::publicKey);
+    }
+}
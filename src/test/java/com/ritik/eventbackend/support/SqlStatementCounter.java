@@ -0,0 +1,31 @@
+package com.ritik.eventbackend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered through
+ * {@code hibernate.session_factory.statement_inspector}, so background workers of the application
+ * never show up in a count taken by a test.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    public record Counted<T>(T result, int statements) {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static <T> Counted<T> count(Supplier<T> action) {
+        int[] count = COUNT.get();
+        int before = count[0];
+        T result = action.get();
+        return new Counted<>(result, count[0] - before);
+    }
+}
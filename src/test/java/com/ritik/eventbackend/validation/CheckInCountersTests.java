@@ -0,0 +1,21 @@
+package com.ritik.eventbackend.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckInCountersTests {
+
+    @Test
+    void countsEveryScanWhileBucketsMoveToANewSecond() {
+        CheckInCounters counters = new CheckInCounters();
+        // Every second starts with many threads racing to reset its bucket
+        IntStream.range(0, 90_000).parallel().forEach(scan -> counters.record(scan % 3 != 0, 1_000 + scan / 10_000));
+
+        assertThat(counters.admitted()).isEqualTo(60_000);
+        assertThat(counters.rejected()).isEqualTo(30_000);
+        assertThat(counters.scansPerSecond(1_009)).isEqualTo(10_000.0);
+    }
+}
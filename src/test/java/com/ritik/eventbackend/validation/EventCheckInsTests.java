@@ -0,0 +1,41 @@
+package com.ritik.eventbackend.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCheckInsTests {
+
+    @Test
+    void admitsEachTicketExactlyOnceUnderConcurrentScans() {
+        EventCheckIns checkIns = new EventCheckIns(UUID.randomUUID());
+        int tickets = 200_000;
+        IntStream.range(0, tickets).forEach(i -> checkIns.register(i % 10 == 0));
+
+        AtomicInteger admitted = new AtomicInteger();
+        IntStream.range(0, tickets * 4).parallel().forEach(scan -> {
+            if (checkIns.tryAdmit(scan % tickets)) {
+                admitted.incrementAndGet();
+            }
+        });
+
+        assertThat(admitted.get()).isEqualTo(tickets - tickets / 10);
+    }
+
+    @Test
+    void reportsAdmissionWithoutChangingIt() {
+        EventCheckIns checkIns = new EventCheckIns(UUID.randomUUID());
+        int admitted = checkIns.register(true);
+        int pending = checkIns.register(false);
+
+        assertThat(checkIns.isAdmitted(admitted)).isTrue();
+        assertThat(checkIns.isAdmitted(pending)).isFalse();
+        assertThat(checkIns.isAdmitted(pending)).isFalse();
+        assertThat(checkIns.tryAdmit(pending)).isTrue();
+        assertThat(checkIns.isAdmitted(pending)).isTrue();
+    }
+}
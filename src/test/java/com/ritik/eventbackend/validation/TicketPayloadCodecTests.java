@@ -0,0 +1,74 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.exceptions.InvalidQrCodePayloadException;
+import com.ritik.eventbackend.support.QrSigningTestKeys;
+import com.ritik.eventbackend.support.QrSigningTestKeys.EncodedKeyPair;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TicketPayloadCodecTests {
+
+    private static final EncodedKeyPair OLD_KEY = QrSigningTestKeys.generate();
+    private static final EncodedKeyPair NEW_KEY = QrSigningTestKeys.generate();
+
+    private final UUID qrCodeId = UUID.randomUUID();
+    private final UUID ticketId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
+
+    @Test
+    void verifiesPayloadsSignedWithRetiredKeys() {
+        String payload = codec("old", OLD_KEY, Map.of("old", OLD_KEY.publicKey())).sign(qrCodeId, ticketId, eventId, 2_000);
+
+        TicketPayloadCodec codec = codec("new", NEW_KEY, Map.of("old", OLD_KEY.publicKey(), "new", NEW_KEY.publicKey()));
+
+        assertThat(codec.verify(payload, 1_000)).isEqualTo(new SignedTicketPayload(qrCodeId, ticketId, eventId, 2_000, "old"));
+        assertThat(codec.isVerifiable(payload)).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndUnknownPayloads() {
+        TicketPayloadCodec codec = codec("new", NEW_KEY, Map.of("new", NEW_KEY.publicKey()));
+        String payload = codec.sign(qrCodeId, ticketId, eventId, 2_000);
+        byte[] tampered = Base64.getUrlDecoder().decode(payload);
+        tampered[10] ^= 1;
+
+        assertThatThrownBy(() -> codec.verify(Base64.getUrlEncoder().withoutPadding().encodeToString(tampered), 1_000))
+                .isInstanceOf(InvalidQrCodePayloadException.class);
+        assertThatThrownBy(() -> codec.verify(payload, 2_001))
+                .isInstanceOf(InvalidQrCodePayloadException.class);
+
+        TicketPayloadCodec other = codec("old", OLD_KEY, Map.of("old", OLD_KEY.publicKey()));
+        assertThatThrownBy(() -> other.verify(payload, 1_000))
+                .isInstanceOf(InvalidQrCodePayloadException.class);
+        assertThat(other.isVerifiable(payload)).isFalse();
+    }
+
+    @Test
+    void remembersVerifiedPayloadsButStillExpiresThem() {
+        TicketPayloadCodec codec = codec("new", NEW_KEY, Map.of("new", NEW_KEY.publicKey()));
+        String payload = codec.sign(qrCodeId, ticketId, eventId, 2_000);
+
+        SignedTicketPayload first = codec.verify(payload, 1_000);
+        assertThat(codec.verify(payload, 1_500)).isSameAs(first);
+        assertThatThrownBy(() -> codec.verify(payload, 2_001))
+                .isInstanceOf(InvalidQrCodePayloadException.class);
+    }
+
+    @Test
+    void rejectsKeysThatCannotSignForTheActiveKeyId() {
+        assertThatThrownBy(() -> codec("new", NEW_KEY, Map.of("new", OLD_KEY.publicKey())))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> codec("new", new EncodedKeyPair(null, NEW_KEY.publicKey()), Map.of("new", NEW_KEY.publicKey())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private TicketPayloadCodec codec(String activeKeyId, EncodedKeyPair activeKey, Map<String, String> publicKeys) {
+        return new TicketPayloadCodec(QrSigningTestKeys.properties(activeKeyId, activeKey, publicKeys));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ritik.eventbackend.validation;
+
+import com.ritik.eventbackend.entities.enums.TicketValidationMethod;
+import com.ritik.eventbackend.entities.enums.TicketValidationStatusEnum;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationJournalTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversUndrainedValidationsAcrossSegments() throws Exception {
+        // Four 64-byte records per segment
+        ValidationJournal journal = new ValidationJournal(directory, DataSize.ofBytes(256));
+        assertThat(journal.recover()).isEmpty();
+        journal.start();
+
+        List<PendingValidation> validations = IntStream.range(0, 10)
+                .mapToObj(i -> new PendingValidation(UUID.randomUUID(), UUID.randomUUID(),
+                        i % 2 == 0 ? TicketValidationStatusEnum.VALID : TicketValidationStatusEnum.INVALID,
+                        TicketValidationMethod.QR_SCAN, LocalDateTime.now().withNano(123_456_789), i == 0))
+                .toList();
+        long last = -1;
+        for (PendingValidation validation : validations) {
+            last = journal.append(validation);
+        }
+        journal.awaitDurable(last);
+        for (long sequence = 0; sequence < 4; sequence++) {
+            journal.markDrained(sequence);
+        }
+        journal.stop();
+
+        assertThat(segmentCount()).isEqualTo(2);
+        assertThat(new ValidationJournal(directory, DataSize.ofBytes(256)).recover())
+                .containsExactlyElementsOf(validations.subList(4, 10));
+    }
+
+    @Test
+    void deadLetteredValidationsAreNotReplayed() throws Exception {
+        ValidationJournal journal = new ValidationJournal(directory, DataSize.ofBytes(256));
+        journal.recover();
+        journal.start();
+
+        PendingValidation rejected = new PendingValidation(UUID.randomUUID(), UUID.randomUUID(),
+                TicketValidationStatusEnum.VALID, TicketValidationMethod.MANUAL, LocalDateTime.now(), false);
+        long sequence = journal.append(rejected);
+        journal.awaitDurable(sequence);
+        journal.deadLetter(rejected);
+        journal.markDrained(sequence);
+        journal.stop();
+
+        // The open segment still holds the record, its dead-letter copy must not be replayed as well
+        assertThat(Files.size(directory.resolve("dead-letters.journal"))).isEqualTo(64);
+        assertThat(new ValidationJournal(directory, DataSize.ofBytes(256)).recover()).containsExactly(rejected);
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}